@@ -0,0 +1,62 @@
+package org.example.benchmarks;
+
+import com.jogamp.opengl.GL2;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A GL2 that needs no context: every call is counted and vertex coordinates
+ * are folded into a checksum so the JIT can't drop the work that produced them.
+ * glGenBuffers hands out distinct nonzero names, as a real context would.
+ *
+ * Built on a dynamic proxy, so float arguments are boxed on each call. Compare
+ * against {@link RenderBenchmark#stubOverhead} to see how much of a render
+ * benchmark's time and allocation is the stub itself.
+ */
+final class RecordingGL implements InvocationHandler {
+    long calls;
+    long vertices;
+    float checksum;
+    private int nextName = 1;
+
+    static GL2 create(RecordingGL recorder) {
+        return (GL2) Proxy.newProxyInstance(GL2.class.getClassLoader(), new Class<?>[] {GL2.class}, recorder);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        calls++;
+        String name = method.getName();
+        if (name.equals("glVertex2f")) {
+            vertices++;
+            checksum += (Float) args[0] + (Float) args[1];
+        } else if (name.equals("glDrawArrays")) {
+            vertices += (Integer) args[2];
+        } else if (name.equals("glGenBuffers")) {
+            int n = (Integer) args[0];
+            if (args[1] instanceof int[]) {
+                int[] ids = (int[]) args[1];
+                for (int i = 0; i < n; i++) ids[(Integer) args[2] + i] = nextName++;
+            } else {
+                IntBuffer ids = (IntBuffer) args[1];
+                for (int i = 0; i < n; i++) ids.put(ids.position() + i, nextName++);
+            }
+        } else if (name.equals("getGL2") || name.equals("getGL")) {
+            return proxy;
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.benchmarks;
+
+import com.jogamp.opengl.GL2;
+import org.example.BackgroundStars;
+import org.example.PlayerBallRenderer;
+import org.example.RingRenderer;
+import org.example.engine.PlayerBall;
+import org.example.engine.Ring;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering hot paths on the CPU side: cached ring and ball draws, the
+ * immediate-mode tessellation they replaced (as a baseline), and the
+ * starfield update/draw, all issued to a {@link RecordingGL} stub so no GL
+ * context or display is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    // Same number of vertices as one ring: 4 arcs x 17 x 2
+    private static final int RING_VERTICES = 136;
+
+    private final RecordingGL recorder = new RecordingGL();
+    private GL2 gl;
+
+    private final RingRenderer ringRenderer = new RingRenderer();
+    private final PlayerBallRenderer ballRenderer = new PlayerBallRenderer();
+    private Ring ring;
+    private PlayerBall ball;
+    private BackgroundStars stars;
+
+    @Setup
+    public void setup() {
+        gl = RecordingGL.create(recorder);
+        ring = new Ring(3.0, 3.5f, 4.5f, 1.5f);
+        ball = new PlayerBall(0.0, 0.6f, new Random(42));
+        stars = new BackgroundStars(-10, 10, -20, 20, 42);
+    }
+
+    /** One ring from the geometry cache: bind, transform and four strip draws. */
+    @Benchmark
+    public float drawRing() {
+        ringRenderer.draw(gl, ring, 0.0, 0.5f);
+        return recorder.checksum;
+    }
+
+    /** The ball from the geometry cache: one fan draw. */
+    @Benchmark
+    public float drawBall() {
+        ballRenderer.draw(gl, ball, 0.0, 0.5f);
+        return recorder.checksum;
+    }
+
+    /** Baseline for drawRing: the old per-frame tessellation, four arcs of cos/sin and glVertex2f. */
+    @Benchmark
+    public float drawRingImmediate() {
+        gl.glPushMatrix();
+        gl.glTranslatef(0, (float) ring.getY(), 0);
+        gl.glRotatef(ring.getInterpolatedAngle(0.5f), 0, 0, 1);
+        for (int i = 0; i < 4; i++) {
+            drawArc(gl, ring.getInnerRadius(), ring.getOuterRadius(), i * 90, (i + 1) * 90, 16);
+        }
+        gl.glPopMatrix();
+        return recorder.checksum;
+    }
+
+    /** Baseline for drawBall: the old 32-segment fan tessellated per frame. */
+    @Benchmark
+    public float drawBallImmediate() {
+        drawCircle(gl, ball.getX(), (float) ball.getInterpolatedY(0.5f), ball.getRadius(), 32);
+        return recorder.checksum;
+    }
+
+    @Benchmark
+    public void starsUpdate() {
+        stars.update(0.0f);
+    }
+
+    @Benchmark
+    public float starsDraw() {
+        stars.draw(gl);
+        return recorder.checksum;
+    }
+
+    /** The stub alone: as many glVertex2f calls as one ring, no math. */
+    @Benchmark
+    public float stubOverhead() {
+        for (int i = 0; i < RING_VERTICES; i++) {
+            gl.glVertex2f(i, i);
+        }
+        return recorder.checksum;
+    }
+
+    // RingRenderer.drawArc and PlayerBallRenderer.drawCircle as they were before the geometry cache
+
+    private static void drawArc(GL2 gl, float r1, float r2, float startAngle, float endAngle, int numSegments) {
+        gl.glBegin(GL2.GL_TRIANGLE_STRIP);
+        for (int i = 0; i <= numSegments; i++) {
+            double angle = Math.toRadians(startAngle + (endAngle - startAngle) * i / numSegments);
+            gl.glVertex2f((float) (r1 * Math.cos(angle)), (float) (r1 * Math.sin(angle)));
+            gl.glVertex2f((float) (r2 * Math.cos(angle)), (float) (r2 * Math.sin(angle)));
+        }
+        gl.glEnd();
+    }
+
+    private static void drawCircle(GL2 gl, float cx, float cy, float r, int numSegments) {
+        gl.glBegin(GL2.GL_TRIANGLE_FAN);
+        gl.glVertex2f(cx, cy);
+        for (int i = 0; i <= numSegments; i++) {
+            double angle = i * 2.0 * Math.PI / numSegments;
+            gl.glVertex2f(cx + (float) (r * Math.cos(angle)), cy + (float) (r * Math.sin(angle)));
+        }
+        gl.glEnd();
+    }
+}
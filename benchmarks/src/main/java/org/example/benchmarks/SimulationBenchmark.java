@@ -0,0 +1,92 @@
+package org.example.benchmarks;
+
+import org.example.engine.InputPolicy;
+import org.example.engine.PlayerBall;
+import org.example.engine.RandomInputPolicy;
+import org.example.engine.Ring;
+import org.example.engine.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation hot paths: a full world tick, the collision pass on its own, and
+ * the per-ring narrow-phase tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+    private static final int POINTS = 1024; // power of two
+
+    private World world;
+    private World collisionWorld;
+    private final InputPolicy policy = new RandomInputPolicy(1.0 / 12, 42);
+
+    private Ring ring;
+    private PlayerBall[] balls;
+    private float[] pointX;
+    private double[] pointY;
+    private int next;
+
+    @Setup
+    public void setup() {
+        world = new World(0, 42);
+
+        // A started world with the ball sitting just below the first ring
+        collisionWorld = new World(1, 42);
+        collisionWorld.jump();
+        collisionWorld.step();
+
+        Random random = new Random(42);
+        ring = new Ring(0, 3.0f, 4.0f, 1.5f);
+        balls = new PlayerBall[POINTS];
+        pointX = new float[POINTS];
+        pointY = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            balls[i] = new PlayerBall(-6 + random.nextDouble() * 12, 0.6f, random);
+            pointX[i] = -5 + random.nextFloat() * 10;
+            pointY[i] = -5 + random.nextDouble() * 10;
+        }
+    }
+
+    /** One tick of a world driven by a random jumper: the old Game.updateWorld. */
+    @Benchmark
+    public long worldStep() {
+        if (world.isGameOver()) world.reset();
+        if (policy.shouldJump(world, world.getTick())) world.jump();
+        world.step();
+        return world.getTick();
+    }
+
+    /** The collision pass alone: the old Game.checkCollisionsIdx. */
+    @Benchmark
+    public int checkCollisions() {
+        collisionWorld.checkCollisions();
+        return collisionWorld.getScore();
+    }
+
+    @Benchmark
+    public int segmentAtAngle() {
+        int i = next++ & (POINTS - 1);
+        return ring.getSegmentAtAngle(pointX[i], pointY[i]);
+    }
+
+    @Benchmark
+    public boolean isCollidingWithRing() {
+        return balls[next++ & (POINTS - 1)].isCollidingWithRing(ring);
+    }
+}
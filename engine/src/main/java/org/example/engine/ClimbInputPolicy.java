@@ -0,0 +1,26 @@
+package org.example.engine;
+
+/**
+ * Scripted input that climbs at a steady rate: jumps whenever the ball is
+ * falling faster than a threshold. Blind to ring colors, so it survives only
+ * as long as the right segment happens to be in its path; a better baseline
+ * than a fixed rhythm for judging ring layouts.
+ */
+public class ClimbInputPolicy implements InputPolicy {
+    private final float fallSpeed;
+
+    /**
+     * @param fallSpeed downward speed (units per tick, positive) that triggers a jump
+     */
+    public ClimbInputPolicy(float fallSpeed) {
+        if (fallSpeed < 0) {
+            throw new IllegalArgumentException("fallSpeed must not be negative: " + fallSpeed);
+        }
+        this.fallSpeed = fallSpeed;
+    }
+
+    @Override
+    public boolean shouldJump(World world, long tick) {
+        return !world.hasStarted() || world.getPlayer().getVelocityY() < -fallSpeed;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.engine;
+
+import java.util.Random;
+
+public class ColorChanger {
+    private float x, radius;
+    private double y; // world space, fixed once spawned
+    private int colorIndex;
+    private boolean collected;
+
+    /**
+     * @param random the owning world's stream, used for the initial color
+     */
+    public ColorChanger(float x, double y, float radius, Random random) {
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.colorIndex = random.nextInt(GameEngine.COLOR_COUNT);
+    }
+
+    public ColorChanger(ColorChanger other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this changer with another's state, so lookahead copies can reuse objects.
+     */
+    public void copyFrom(ColorChanger other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.radius = other.radius;
+        this.colorIndex = other.colorIndex;
+        this.collected = other.collected;
+    }
+
+    public boolean isColliding(PlayerBall ball) {
+        double dx = ball.getX() - x;
+        double dy = ball.getY() - y;
+        float reach = ball.getRadius() + radius;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    // Getters and Setters
+    public float getX() { return x; }
+    public double getY() { return y; }
+    public boolean isCollected() { return collected; }
+    public void collect() { this.collected = true; }
+    public float getRadius() { return radius; }
+    public int getColorIndex() { return colorIndex; }
+}
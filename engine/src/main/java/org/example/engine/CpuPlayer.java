@@ -0,0 +1,133 @@
+package org.example.engine;
+
+/**
+ * Computer opponent that decides jump / no-jump by simulating copies of its
+ * world forward: ring rotation, gravity and segment checks all come from the
+ * real {@link World#step()}.
+ *
+ * The search is anytime: it deepens one decision at a time (iterative
+ * deepening) and stops as soon as its time budget is spent, answering from
+ * the deepest search that finished. The budget is checked at every node, so
+ * one call never overruns it by more than a single node's work.
+ *
+ * Siblings are searched one after the other, so one scratch world per level
+ * is enough; they are reused across calls and the search doesn't allocate.
+ */
+public class CpuPlayer {
+    // Ticks simulated per decision point; the jump (if any) happens on the first
+    static final int TICKS_PER_DECISION = 4;
+
+    private static final double DEAD = -1_000_000_000.0;
+
+    /**
+     * Preset strength: how far ahead the search may look and how long it may think.
+     */
+    public enum Difficulty {
+        EASY(3, 500_000L),
+        NORMAL(6, 1_000_000L),
+        HARD(10, 2_000_000L);
+
+        final int maxDepth;
+        final long budgetNanos;
+
+        Difficulty(int maxDepth, long budgetNanos) {
+            this.maxDepth = maxDepth;
+            this.budgetNanos = budgetNanos;
+        }
+    }
+
+    private final int maxDepth;
+    private final long budgetNanos;
+    private final World[] scratch; // one reusable copy per search level
+
+    private long deadline;
+    private boolean timedOut;
+    private int lastCompletedDepth;
+
+    public CpuPlayer(Difficulty difficulty) {
+        this(difficulty.maxDepth, difficulty.budgetNanos);
+    }
+
+    /**
+     * @param maxDepth decision points to look ahead (each {@value #TICKS_PER_DECISION} ticks)
+     * @param budgetNanos time allowed per {@link #decide(World)} call
+     */
+    public CpuPlayer(int maxDepth, long budgetNanos) {
+        if (maxDepth <= 0 || budgetNanos <= 0) {
+            throw new IllegalArgumentException("maxDepth and budgetNanos must be positive");
+        }
+        this.maxDepth = maxDepth;
+        this.budgetNanos = budgetNanos;
+        this.scratch = new World[maxDepth];
+    }
+
+    /**
+     * Searches from the given world state, which is not modified.
+     *
+     * @return true if the ball should jump now
+     */
+    public boolean decide(World world) {
+        if (world.isGameOver()) return false;
+        deadline = System.nanoTime() + budgetNanos;
+        timedOut = false;
+        lastCompletedDepth = 0;
+
+        boolean best = false;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            double jump = search(afterDecision(world, true, 0), depth - 1, 1);
+            if (timedOut) break;
+            double wait = search(afterDecision(world, false, 0), depth - 1, 1);
+            if (timedOut) break;
+
+            best = jump > wait;
+            lastCompletedDepth = depth;
+            if (jump <= DEAD && wait <= DEAD) break; // nothing survives; deeper won't help
+        }
+        return best;
+    }
+
+    /**
+     * @return depth of the last search that finished within budget, 0 if none
+     */
+    public int getLastCompletedDepth() {
+        return lastCompletedDepth;
+    }
+
+    private double search(World world, int depth, int level) {
+        if (System.nanoTime() > deadline) {
+            timedOut = true;
+            return 0;
+        }
+        if (world.isGameOver()) return DEAD + world.getTick(); // later deaths are less bad
+        if (depth == 0) return evaluate(world);
+
+        double best = search(afterDecision(world, false, level), depth - 1, level + 1);
+        if (timedOut) return 0;
+        double jump = search(afterDecision(world, true, level), depth - 1, level + 1);
+        return Math.max(best, jump);
+    }
+
+    private World afterDecision(World world, boolean jump, int level) {
+        World next = scratch[level];
+        if (next == null) {
+            next = scratch[level] = world.copy();
+        } else {
+            next.copyFrom(world);
+        }
+        if (jump) next.jump();
+        for (int t = 0; t < TICKS_PER_DECISION && !next.isGameOver(); t++) {
+            next.step();
+        }
+        return next;
+    }
+
+    /**
+     * Score dominates; among equal scores prefer climbing, and keep well clear
+     * of the bottom of the screen where the ball falls out.
+     */
+    private static double evaluate(World world) {
+        double height = world.getPlayer().getY() - world.getCameraY();
+        double floorMargin = Math.min(height + 12, 6);
+        return world.getScore() * 1000.0 + world.getPlayer().getY() + floorMargin * 10;
+    }
+}
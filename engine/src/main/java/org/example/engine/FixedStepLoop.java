@@ -0,0 +1,156 @@
+package org.example.engine;
+
+/**
+ * Runs the simulation on its own thread at a fixed tick rate, independent of
+ * how often the renderer draws. The renderer asks for an interpolation factor
+ * to blend between the previous and the current simulation state.
+ *
+ * Tick {@code n} stands for the time span ending at its scheduled time, even
+ * when it runs late or in a catch-up burst; {@link #getTickDeadline()} tells
+ * the tick callback which span it is simulating, e.g. to apply input
+ * timestamped within it.
+ *
+ * While paused the thread waits without ticking, and on resume it starts
+ * from the current time rather than catching up on the paused span.
+ */
+public class FixedStepLoop implements Runnable {
+    // If we fall further behind than this, drop the backlog instead of spiralling
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final long tickNanos;
+    private final Runnable tick;
+
+    private volatile boolean running;
+    private volatile boolean paused;
+    private final Object pauseLock = new Object(); // not this: stop() joins while holding it
+    private volatile long lastTickNanos;
+    private long tickDeadline; // simulation thread only
+    private Thread thread;
+
+    /**
+     * @param ticksPerSecond simulation rate
+     * @param tick callback advancing the simulation by exactly one tick
+     */
+    public FixedStepLoop(int ticksPerSecond, Runnable tick) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.tick = tick;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        lastTickNanos = System.nanoTime();
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        thread.interrupt();
+        if (thread != Thread.currentThread()) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops ticking until unpaused, e.g. while nobody can see the game.
+     */
+    public void setPaused(boolean paused) {
+        synchronized (pauseLock) {
+            this.paused = paused;
+            pauseLock.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + tickNanos;
+        while (running) {
+            if (paused) {
+                if (!awaitUnpaused()) return;
+                nextTick = System.nanoTime() + tickNanos;
+                lastTickNanos = nextTick - tickNanos;
+            }
+            long now = System.nanoTime();
+            int ticks = 0;
+            while (now >= nextTick && ticks < MAX_CATCH_UP_TICKS) {
+                tickDeadline = nextTick;
+                tick.run();
+                lastTickNanos = nextTick;
+                nextTick += tickNanos;
+                ticks++;
+            }
+            if (now - nextTick >= tickNanos) {
+                // Too far behind (debugger, suspended machine): resync to now
+                nextTick = now + tickNanos;
+                lastTickNanos = now;
+            }
+
+            long sleepNanos = nextTick - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                }
+            }
+        }
+    }
+
+    /** Waits while paused; false if stopped meanwhile. */
+    private boolean awaitUnpaused() {
+        synchronized (pauseLock) {
+            while (paused && running) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    if (!running) return false;
+                }
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Scheduled time of the tick now running: it simulates the
+     * {@link #getTickNanos()} before this. Only meaningful inside the tick
+     * callback.
+     */
+    public long getTickDeadline() {
+        return tickDeadline;
+    }
+
+    /**
+     * How far the given time is between the last tick and the next one.
+     *
+     * @return 0 right after a tick, approaching 1 just before the next
+     */
+    public float getAlpha(long nowNanos) {
+        float alpha = (float) (nowNanos - lastTickNanos) / tickNanos;
+        if (alpha < 0) return 0;
+        if (alpha > 1) return 1;
+        return alpha;
+    }
+}
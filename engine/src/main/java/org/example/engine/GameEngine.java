@@ -0,0 +1,172 @@
+package org.example.engine;
+
+import org.example.engine.events.GameEventBus;
+import org.example.engine.jfr.TickEvent;
+
+/**
+ * Headless simulation core: a set of independent worlds stepped together.
+ * Has no rendering or windowing dependency, so it runs on machines without
+ * a display or GPU.
+ */
+public class GameEngine {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final int COLOR_COUNT = 4;
+
+    private final World[] worlds;
+    private final long seed;
+    private long tick; // ticks since the engine was created; not cleared by reset
+    private InputRecorder recorder;
+
+    /**
+     * Creates an engine with an arbitrary seed.
+     *
+     * @param worldCount number of independent worlds (one per player)
+     */
+    public GameEngine(int worldCount) {
+        this(worldCount, System.nanoTime());
+    }
+
+    /**
+     * @param worldCount number of independent worlds (one per player)
+     * @param seed master seed; each world derives its own stream from it
+     */
+    public GameEngine(int worldCount, long seed) {
+        this(worldCount, seed, new GameRules());
+    }
+
+    /**
+     * @param rules physics and ring generation shared by every world
+     */
+    public GameEngine(int worldCount, long seed, GameRules rules) {
+        if (worldCount <= 0) {
+            throw new IllegalArgumentException("worldCount must be positive: " + worldCount);
+        }
+        this.seed = seed;
+        worlds = new World[worldCount];
+        for (int i = 0; i < worldCount; i++) {
+            worlds[i] = new World(i, worldSeed(seed, i), rules);
+        }
+    }
+
+    /**
+     * Derives a well-mixed, independent seed for one world (SplitMix64 finalizer),
+     * so neighbouring world indices don't get correlated streams.
+     */
+    public static long worldSeed(long masterSeed, int worldIdx) {
+        long z = masterSeed + (worldIdx + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Advances every world by one tick.
+     */
+    public void step() {
+        TickEvent event = TickEvent.begin(tick, worlds.length);
+        int running = 0;
+        for (World world : worlds) {
+            world.step();
+            if (!world.isGameOver()) running++;
+        }
+        tick++;
+        if (event != null) event.end(running);
+    }
+
+    public void jump(int worldIdx) {
+        if (recorder != null) recorder.recordJump(tick, worldIdx);
+        worlds[worldIdx].jump();
+    }
+
+    public void reset() {
+        if (recorder != null) recorder.recordReset(tick);
+        for (World world : worlds) {
+            world.reset();
+        }
+    }
+
+    public void reset(int worldIdx) {
+        if (recorder != null) recorder.recordReset(tick, worldIdx);
+        worlds[worldIdx].reset();
+    }
+
+    /**
+     * Logs every jump and reset from now on, so the session can be replayed
+     * with {@link ReplayRunner}. Replaces any recording already in progress.
+     *
+     * A replay can only start a world at the beginning of a round, so any
+     * world already part-way through one is reset first: the recording
+     * starts with a new round there.
+     */
+    public void startRecording(InputRecorder recorder) {
+        stopRecording();
+        for (World world : worlds) {
+            if (world.getTick() != 0) world.reset();
+        }
+        recorder.begin(this);
+        this.recorder = recorder;
+    }
+
+    /**
+     * Writes the final scores and state hash and closes the recording.
+     */
+    public void stopRecording() {
+        if (recorder == null) return;
+        InputRecorder finished = recorder;
+        recorder = null;
+        finished.finish(this);
+    }
+
+    /**
+     * Combines every world's {@link World#stateHash()} in index order.
+     */
+    public long stateHash() {
+        long h = 0;
+        for (World world : worlds) {
+            h = h * 1_000_003L + world.stateHash();
+        }
+        return h;
+    }
+
+    /**
+     * @return true when every world has lost
+     */
+    public boolean isAllGameOver() {
+        for (World world : worlds) {
+            if (!world.isGameOver()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Publishes every world's events to the bus, or stops if null. The bus
+     * assumes one publisher at a time, so step and reset this engine from
+     * one thread or under one lock.
+     */
+    public void setEventBus(GameEventBus eventBus) {
+        for (World world : worlds) world.setEventBus(eventBus);
+    }
+
+    /**
+     * Measures every world's collision pass, see {@link #takeCollisionNanos()}.
+     */
+    public void setCollisionTiming(boolean enabled) {
+        for (World world : worlds) world.setCollisionTiming(enabled);
+    }
+
+    /**
+     * Time all worlds spent in the collision pass since the last call.
+     */
+    public long takeCollisionNanos() {
+        long nanos = 0;
+        for (World world : worlds) nanos += world.takeCollisionNanos();
+        return nanos;
+    }
+
+    public int getWorldCount() { return worlds.length; }
+    public World getWorld(int worldIdx) { return worlds[worldIdx]; }
+    public int getScore(int worldIdx) { return worlds[worldIdx].getScore(); }
+    public boolean isGameOver(int worldIdx) { return worlds[worldIdx].isGameOver(); }
+    public long getTick() { return tick; }
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,88 @@
+package org.example.engine;
+
+/**
+ * Tunable game balance: physics and how rings are generated. The defaults
+ * are the shipped rules. Configure an instance before handing it to worlds;
+ * worlds only read it, so one instance can be shared across threads.
+ */
+public class GameRules {
+    private float gravity = -0.01f;
+    private float jumpVelocity = 0.2f;
+    private float baseRingSpacing = 20.0f;
+    private float ringSpacingJitter = 4.0f; // extra random spacing, 0..jitter
+    private float ringOuterRadiusMin = 3.5f;
+    private float ringOuterRadiusMax = 6.5f;
+    private float ringThicknessMin = 0.8f;
+    private float ringThicknessMax = 1.5f;
+    private float baseRotationSpeed = 1.5f; // degrees per tick at the reference radius
+    private float rotationReferenceRadius = 4.5f; // larger rings turn proportionally slower
+    private float colorChangerChance = 0.4f; // per ring
+
+    public GameRules() {}
+
+    public GameRules(GameRules other) {
+        this.gravity = other.gravity;
+        this.jumpVelocity = other.jumpVelocity;
+        this.baseRingSpacing = other.baseRingSpacing;
+        this.ringSpacingJitter = other.ringSpacingJitter;
+        this.ringOuterRadiusMin = other.ringOuterRadiusMin;
+        this.ringOuterRadiusMax = other.ringOuterRadiusMax;
+        this.ringThicknessMin = other.ringThicknessMin;
+        this.ringThicknessMax = other.ringThicknessMax;
+        this.baseRotationSpeed = other.baseRotationSpeed;
+        this.rotationReferenceRadius = other.rotationReferenceRadius;
+        this.colorChangerChance = other.colorChangerChance;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the ranges can't produce valid rings
+     */
+    public void validate() {
+        if (ringOuterRadiusMin <= 0 || ringOuterRadiusMax < ringOuterRadiusMin) {
+            throw new IllegalArgumentException("Bad ring outer radius range " + ringOuterRadiusMin + ".." + ringOuterRadiusMax);
+        }
+        if (ringThicknessMin <= 0 || ringThicknessMax < ringThicknessMin || ringThicknessMax >= ringOuterRadiusMin) {
+            throw new IllegalArgumentException("Bad ring thickness range " + ringThicknessMin + ".." + ringThicknessMax);
+        }
+        if (baseRingSpacing <= 0 || ringSpacingJitter < 0) {
+            throw new IllegalArgumentException("Bad ring spacing " + baseRingSpacing + " + 0.." + ringSpacingJitter);
+        }
+        if (colorChangerChance < 0 || colorChangerChance > 1) {
+            throw new IllegalArgumentException("colorChangerChance must be in [0, 1]: " + colorChangerChance);
+        }
+    }
+
+    // Getters and Setters
+    public float getGravity() { return gravity; }
+    public void setGravity(float gravity) { this.gravity = gravity; }
+    public float getJumpVelocity() { return jumpVelocity; }
+    public void setJumpVelocity(float jumpVelocity) { this.jumpVelocity = jumpVelocity; }
+    public float getBaseRingSpacing() { return baseRingSpacing; }
+    public void setBaseRingSpacing(float baseRingSpacing) { this.baseRingSpacing = baseRingSpacing; }
+    public float getRingSpacingJitter() { return ringSpacingJitter; }
+    public void setRingSpacingJitter(float ringSpacingJitter) { this.ringSpacingJitter = ringSpacingJitter; }
+    public float getRingOuterRadiusMin() { return ringOuterRadiusMin; }
+    public void setRingOuterRadiusMin(float ringOuterRadiusMin) { this.ringOuterRadiusMin = ringOuterRadiusMin; }
+    public float getRingOuterRadiusMax() { return ringOuterRadiusMax; }
+    public void setRingOuterRadiusMax(float ringOuterRadiusMax) { this.ringOuterRadiusMax = ringOuterRadiusMax; }
+    public float getRingThicknessMin() { return ringThicknessMin; }
+    public void setRingThicknessMin(float ringThicknessMin) { this.ringThicknessMin = ringThicknessMin; }
+    public float getRingThicknessMax() { return ringThicknessMax; }
+    public void setRingThicknessMax(float ringThicknessMax) { this.ringThicknessMax = ringThicknessMax; }
+    public float getBaseRotationSpeed() { return baseRotationSpeed; }
+    public void setBaseRotationSpeed(float baseRotationSpeed) { this.baseRotationSpeed = baseRotationSpeed; }
+    public float getRotationReferenceRadius() { return rotationReferenceRadius; }
+    public void setRotationReferenceRadius(float rotationReferenceRadius) { this.rotationReferenceRadius = rotationReferenceRadius; }
+    public float getColorChangerChance() { return colorChangerChance; }
+    public void setColorChangerChance(float colorChangerChance) { this.colorChangerChance = colorChangerChance; }
+
+    @Override
+    public String toString() {
+        return "gravity=" + gravity + " jumpVelocity=" + jumpVelocity
+                + " ringSpacing=" + baseRingSpacing + "+0.." + ringSpacingJitter
+                + " outerRadius=" + ringOuterRadiusMin + ".." + ringOuterRadiusMax
+                + " thickness=" + ringThicknessMin + ".." + ringThicknessMax
+                + " rotationSpeed=" + baseRotationSpeed + "@r" + rotationReferenceRadius
+                + " colorChangerChance=" + colorChangerChance;
+    }
+}
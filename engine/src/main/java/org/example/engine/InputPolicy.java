@@ -0,0 +1,20 @@
+package org.example.engine;
+
+/**
+ * Decides whether a world's ball jumps on a given tick. Used to drive
+ * headless worlds without a human at the keyboard.
+ *
+ * Implementations are called concurrently for different worlds, so they must
+ * be stateless or keep their state per world.
+ */
+@FunctionalInterface
+public interface InputPolicy {
+    InputPolicy NONE = (world, tick) -> false;
+
+    /**
+     * @param world the world about to be stepped
+     * @param tick the world's tick counter before the step
+     * @return true to jump before this step
+     */
+    boolean shouldJump(World world, long tick);
+}
@@ -0,0 +1,117 @@
+package org.example.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue of key presses from any number of input threads
+ * to the one simulation thread. Each press carries its {@link System#nanoTime()}
+ * timestamp, so the simulation can apply it to the tick it happened in
+ * rather than whichever tick happens to run next.
+ *
+ * Producers claim a slot with a compare-and-set and publish it by writing its
+ * sequence number (Vyukov's bounded queue); the consumer needs no atomics to
+ * read. Nothing is allocated after construction. When full, presses are
+ * dropped and counted rather than blocking an event thread.
+ */
+public final class InputQueue {
+    /**
+     * Receives drained presses.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(int keyCode, long pressedNanos);
+    }
+
+    private final int mask;
+    private final int[] keyCodes;
+    private final long[] times;
+    // Per slot: position + 1 once published, position + capacity once consumed
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // consumer only
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity presses that can wait at once; rounded up to a power
+     *                 of two, at least 2 (the sequence scheme needs two slots)
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        mask = size - 1;
+        keyCodes = new int[size];
+        times = new long[size];
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequence.set(i, i);
+    }
+
+    /**
+     * Adds a press; safe from any thread.
+     *
+     * @return false if the queue was full and the press was dropped
+     */
+    public boolean offer(int keyCode, long pressedNanos) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long available = sequence.get((int) position & mask) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+            } else if (available < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            // Another producer took this slot first; try the next one
+        }
+        int slot = (int) position & mask;
+        keyCodes[slot] = keyCode;
+        times[slot] = pressedNanos;
+        sequence.set(slot, position + 1); // publishes the writes above
+        return true;
+    }
+
+    /**
+     * Hands every press stamped before {@code beforeNanos} to the sink, in
+     * order, and leaves later ones queued. Simulation thread only.
+     *
+     * @return presses drained
+     */
+    public int drain(long beforeNanos, Sink sink) {
+        int drained = 0;
+        while (true) {
+            int slot = (int) head & mask;
+            if (sequence.get(slot) != head + 1) return drained; // empty
+            long pressed = times[slot];
+            if (pressed - beforeNanos >= 0) return drained;
+            int keyCode = keyCodes[slot];
+            sequence.set(slot, head + mask + 1); // free the slot for producers
+            head++;
+            sink.accept(keyCode, pressed);
+            drained++;
+        }
+    }
+
+    /**
+     * Discards everything queued. Consumer thread only.
+     */
+    public void clear() {
+        while (true) {
+            int slot = (int) head & mask;
+            if (sequence.get(slot) != head + 1) return;
+            sequence.set(slot, head + mask + 1);
+            head++;
+        }
+    }
+
+    /** Presses dropped because the queue was full. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a session's inputs as tick-stamped records to a compact binary file.
+ * Together with the engine seed this is enough to re-run the session exactly
+ * (see {@link ReplayRunner}).
+ *
+ * File layout (big-endian, varints are unsigned LEB128):
+ * <pre>
+ *   int     magic "CPIR"
+ *   byte    version
+ *   long    engine seed
+ *   byte    world count N
+ *   N x varint  round each world was in when recording started
+ *   records, each one varint:
+ *           0 = end of records, otherwise 1 + tickDelta * (2N + 1) + slot where
+ *           slot 0..N-1 = jump(world), N..2N-1 = reset(world), 2N = reset all
+ *   varint  ticks from start to end of recording
+ *   N x varint  final scores
+ *   long    final engine state hash
+ * </pre>
+ * A typical jump costs one or two bytes.
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x43504952; // "CPIR"
+    static final int VERSION = 1;
+
+    private final Path file;
+    private DataOutputStream out;
+    private int worldCount;
+    private long startTick;
+    private long lastTick;
+
+    public InputRecorder(Path file) {
+        this.file = file;
+    }
+
+    void begin(GameEngine engine) {
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            worldCount = engine.getWorldCount();
+            startTick = engine.getTick();
+            lastTick = startTick;
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(engine.getSeed());
+            out.writeByte(worldCount);
+            for (int i = 0; i < worldCount; i++) {
+                writeVarLong(out, engine.getWorld(i).getRound());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start input recording " + file, e);
+        }
+    }
+
+    void recordJump(long tick, int worldIdx) {
+        writeRecord(tick, worldIdx);
+    }
+
+    void recordReset(long tick, int worldIdx) {
+        writeRecord(tick, worldCount + worldIdx);
+    }
+
+    void recordReset(long tick) {
+        writeRecord(tick, 2 * worldCount);
+    }
+
+    private void writeRecord(long tick, int slot) {
+        try {
+            writeVarLong(out, 1 + (tick - lastTick) * (2L * worldCount + 1) + slot);
+            lastTick = tick;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write input recording " + file, e);
+        }
+    }
+
+    void finish(GameEngine engine) {
+        try (DataOutputStream o = out) {
+            writeVarLong(o, 0);
+            writeVarLong(o, engine.getTick() - startTick);
+            for (int i = 0; i < worldCount; i++) {
+                writeVarLong(o, engine.getScore(i));
+            }
+            o.writeLong(engine.stateHash());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot finish input recording " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
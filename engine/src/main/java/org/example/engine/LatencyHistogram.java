@@ -0,0 +1,83 @@
+package org.example.engine;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond durations: each power of two
+ * is split into {@value #SUB_BUCKETS} buckets, so quantiles are within ~6%.
+ * Recording is a few shifts and an array increment; nothing is allocated.
+ *
+ * One thread records; others may read at any time and see a slightly stale
+ * but usable picture.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40; // ~18 minutes; longer values share the last bucket
+
+    private final long[] counts = new long[(MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucket(nanos)]++;
+        total++;
+        if (nanos > max) max = nanos;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param quantile 0..1
+     * @return upper bound of the bucket holding that quantile, in nanoseconds
+     */
+    public long quantile(double quantile) {
+        long count = total;
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return i == counts.length - 1 ? max : Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Adds another histogram's samples to this one, e.g. to report several
+     * recording threads together. Call with the other one's recorder paused.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) return (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS - 1;
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long base = 1L << exponent;
+        long width = base >>> SUB_BITS;
+        return base + (sub + 1) * width - 1;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Holds many independent worlds and steps them in parallel on a
+ * {@link ForkJoinPool}. Each world owns its random stream (derived from the
+ * master seed and its index), so results don't depend on thread count or
+ * scheduling: the same seed and policy always give the same worlds.
+ *
+ * Work is split into contiguous ranges of worlds, and each task runs all the
+ * requested ticks for its range before returning, so threads touch only
+ * their own worlds and there is no per-tick barrier.
+ */
+public class ParallelWorlds implements AutoCloseable {
+    private final World[] worlds;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int leafSize;
+
+    private boolean autoReset;
+    private final long[] gamesCompleted;
+    private final long[] scoreTotals;
+
+    /**
+     * @param worldCount number of independent worlds
+     * @param seed master seed
+     * @param parallelism worker threads to use
+     */
+    public ParallelWorlds(int worldCount, long seed, int parallelism) {
+        this(worldCount, seed, new GameRules(), new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Runs on a caller-supplied pool, which is left open on {@link #close()}.
+     */
+    public ParallelWorlds(int worldCount, long seed, GameRules rules, ForkJoinPool pool) {
+        this(worldCount, seed, rules, pool, false);
+    }
+
+    private ParallelWorlds(int worldCount, long seed, GameRules rules, ForkJoinPool pool, boolean ownsPool) {
+        if (worldCount <= 0) {
+            throw new IllegalArgumentException("worldCount must be positive: " + worldCount);
+        }
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        worlds = new World[worldCount];
+        for (int i = 0; i < worldCount; i++) {
+            worlds[i] = new World(i, GameEngine.worldSeed(seed, i), rules);
+        }
+        gamesCompleted = new long[worldCount];
+        scoreTotals = new long[worldCount];
+        // A few tasks per worker so fast threads can steal from slow ones
+        leafSize = Math.max(1, worldCount / (pool.getParallelism() * 4));
+    }
+
+    /**
+     * When enabled, a world that loses is counted and immediately restarted,
+     * so every world keeps doing work for the whole run.
+     */
+    public void setAutoReset(boolean autoReset) {
+        this.autoReset = autoReset;
+    }
+
+    /**
+     * Advances every world by the given number of ticks, in parallel.
+     *
+     * @param policy input for every world; called from worker threads
+     */
+    public void step(int ticks, InputPolicy policy) {
+        pool.invoke(new StepTask(0, worlds.length, ticks, policy));
+    }
+
+    private void stepRange(int from, int to, int ticks, InputPolicy policy) {
+        for (int i = from; i < to; i++) {
+            World world = worlds[i];
+            for (int t = 0; t < ticks; t++) {
+                if (world.isGameOver()) {
+                    if (!autoReset) break;
+                    gamesCompleted[i]++;
+                    scoreTotals[i] += world.getScore();
+                    world.reset();
+                }
+                if (policy.shouldJump(world, world.getTick())) {
+                    world.jump();
+                }
+                world.step();
+            }
+        }
+    }
+
+    private class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to, ticks;
+        private final InputPolicy policy;
+
+        StepTask(int from, int to, int ticks, InputPolicy policy) {
+            this.from = from;
+            this.to = to;
+            this.ticks = ticks;
+            this.policy = policy;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                stepRange(from, to, ticks, policy);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(from, mid, ticks, policy), new StepTask(mid, to, ticks, policy));
+        }
+    }
+
+    /**
+     * Combines every world's {@link World#stateHash()} in index order, for
+     * checking that two runs reached the same state.
+     */
+    public long stateHash() {
+        long h = 0;
+        for (World world : worlds) {
+            h = h * 1_000_003L + world.stateHash();
+        }
+        return h;
+    }
+
+    public long getGamesCompleted() {
+        long total = 0;
+        for (long g : gamesCompleted) total += g;
+        return total;
+    }
+
+    public long getScoreTotal() {
+        long total = 0;
+        for (long s : scoreTotals) total += s;
+        return total;
+    }
+
+    public int getWorldCount() { return worlds.length; }
+    public World getWorld(int idx) { return worlds[idx]; }
+    public int getParallelism() { return pool.getParallelism(); }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+}
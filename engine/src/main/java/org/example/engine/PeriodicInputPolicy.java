@@ -0,0 +1,22 @@
+package org.example.engine;
+
+/**
+ * Scripted input: jumps every {@code period} ticks, starting on the first
+ * tick. A fixed rhythm that ignores the world, useful as a baseline when
+ * comparing balance settings.
+ */
+public class PeriodicInputPolicy implements InputPolicy {
+    private final int period;
+
+    public PeriodicInputPolicy(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        this.period = period;
+    }
+
+    @Override
+    public boolean shouldJump(World world, long tick) {
+        return tick % period == 0;
+    }
+}
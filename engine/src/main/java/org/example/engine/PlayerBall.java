@@ -0,0 +1,95 @@
+package org.example.engine;
+
+import java.util.Random;
+
+public class PlayerBall {
+    private final float x = 0; // Ball is always centered horizontally
+    private double y; // world space
+    private double prevY; // y at the start of the current tick, for render interpolation
+    private final float radius;
+    private float velocityY;
+    private int colorIndex;
+    private final Random random;
+
+    /**
+     * @param random the owning world's stream, used for color picks
+     */
+    public PlayerBall(double y, float radius, Random random) {
+        this.random = random;
+        this.y = y;
+        this.prevY = y;
+        this.radius = radius;
+        this.velocityY = 0;
+        this.colorIndex = random.nextInt(GameEngine.COLOR_COUNT);
+    }
+
+    /**
+     * Copy for lookahead simulation, drawing future colors from {@code random}.
+     */
+    public PlayerBall(PlayerBall other, Random random) {
+        this.random = random;
+        this.radius = other.radius;
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this ball's motion and color with another's (same radius).
+     */
+    public void copyFrom(PlayerBall other) {
+        this.y = other.y;
+        this.prevY = other.prevY;
+        this.velocityY = other.velocityY;
+        this.colorIndex = other.colorIndex;
+    }
+
+    public void applyGravity(float gravity) {
+        this.velocityY += gravity;
+    }
+
+    public void jump(float jumpVelocity) {
+        this.velocityY = jumpVelocity;
+    }
+
+    public void update() {
+        this.y += velocityY;
+    }
+
+    public void savePreviousState() {
+        this.prevY = y;
+    }
+
+    public void changeColor() {
+        int newColorIndex;
+        do {
+            newColorIndex = random.nextInt(GameEngine.COLOR_COUNT);
+        } while (newColorIndex == this.colorIndex);
+        this.colorIndex = newColorIndex;
+    }
+
+    /**
+     * @param alpha interpolation factor between the previous and current tick
+     */
+    public double getInterpolatedY(float alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    // Getters and Setters
+    public float getX() { return x; }
+    public double getY() { return y; }
+    public void setY(double y) { this.y = y; }
+    public float getRadius() { return radius; }
+    public int getColorIndex() { return colorIndex; }
+    public float getVelocityY() { return velocityY; }
+    public void setVelocityY(float v) { this.velocityY = v; }
+
+    public boolean isCollidingWithRing(Ring ring) {
+        // Compare squared distances: dist > inner - r && dist < outer + r
+        double dx = x;
+        double dy = y - ring.getY();
+        double distSq = dx * dx + dy * dy;
+        float outer = ring.getOuterRadius() + radius;
+        if (distSq >= outer * outer) return false;
+        float inner = ring.getInnerRadius() - radius;
+        return inner < 0 || distSq > inner * inner;
+    }
+}
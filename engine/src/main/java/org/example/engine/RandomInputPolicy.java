@@ -0,0 +1,32 @@
+package org.example.engine;
+
+/**
+ * Jumps with a fixed probability per tick. The decision is a pure hash of
+ * (seed, world seed, world index, round, tick), so it is reproducible, needs
+ * no shared random generator and is safe to call from many threads, while
+ * every world and every round still gets its own jump pattern.
+ */
+public class RandomInputPolicy implements InputPolicy {
+    private final long seed;
+    private final long threshold;
+
+    /**
+     * @param jumpChance probability of jumping on any tick, 0..1
+     * @param seed policy seed, mixed with each world's own seed
+     */
+    public RandomInputPolicy(double jumpChance, long seed) {
+        if (jumpChance < 0 || jumpChance > 1) {
+            throw new IllegalArgumentException("jumpChance must be in [0, 1]: " + jumpChance);
+        }
+        this.seed = seed;
+        this.threshold = (long) (jumpChance * (1L << 53));
+    }
+
+    @Override
+    public boolean shouldJump(World world, long tick) {
+        long stream = GameEngine.worldSeed(seed ^ world.getSeed(), world.getIndex())
+                ^ GameEngine.worldSeed(seed, world.getRound());
+        long h = GameEngine.worldSeed(stream, (int) tick ^ (int) (tick >>> 32));
+        return (h >>> 11) < threshold;
+    }
+}
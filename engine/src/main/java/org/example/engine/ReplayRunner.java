@@ -0,0 +1,130 @@
+package org.example.engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Re-runs sessions recorded by {@link InputRecorder} headless, as fast as the
+ * engine can step, and checks they end with the recorded scores and state hash.
+ *
+ * Usage: ReplayRunner recording.cpir [more.cpir ...]
+ * Exits with status 1 if any recording doesn't reproduce.
+ */
+public class ReplayRunner {
+
+    /**
+     * Outcome of replaying one recording.
+     */
+    public static class Result {
+        public final long ticks;
+        public final int[] expectedScores;
+        public final int[] actualScores;
+        public final long expectedHash;
+        public final long actualHash;
+        public final long elapsedNanos;
+
+        Result(long ticks, int[] expectedScores, int[] actualScores, long expectedHash, long actualHash, long elapsedNanos) {
+            this.ticks = ticks;
+            this.expectedScores = expectedScores;
+            this.actualScores = actualScores;
+            this.expectedHash = expectedHash;
+            this.actualHash = actualHash;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean matches() {
+            return expectedHash == actualHash && Arrays.equals(expectedScores, actualScores);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayRunner recording.cpir [more.cpir ...]");
+            System.exit(2);
+        }
+        boolean allMatch = true;
+        for (String arg : args) {
+            Result r = replay(Paths.get(arg));
+            double seconds = r.elapsedNanos / 1e9;
+            System.out.printf("%s %s ticks=%d scores=%s hash=%016x (%.0f ticks/s)%n",
+                    r.matches() ? "OK" : "MISMATCH", arg, r.ticks, Arrays.toString(r.actualScores),
+                    r.actualHash, seconds > 0 ? r.ticks / seconds : 0.0);
+            if (!r.matches()) {
+                System.out.printf("  expected scores=%s hash=%016x%n", Arrays.toString(r.expectedScores), r.expectedHash);
+                allMatch = false;
+            }
+        }
+        if (!allMatch) System.exit(1);
+    }
+
+    /**
+     * Replays one recording from the start.
+     */
+    public static Result replay(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException("Not an input recording: " + file);
+            }
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported recording version " + version + ": " + file);
+            }
+            long seed = in.readLong();
+            int worldCount = in.readUnsignedByte();
+
+            long start = System.nanoTime();
+            GameEngine engine = new GameEngine(worldCount, seed);
+            for (int i = 0; i < worldCount; i++) {
+                engine.getWorld(i).startRound((int) readVarLong(in));
+            }
+
+            int slots = 2 * worldCount + 1;
+            long tick = 0;
+            long code;
+            while ((code = readVarLong(in)) != 0) {
+                long delta = (code - 1) / slots;
+                int slot = (int) ((code - 1) % slots);
+                for (long t = 0; t < delta; t++) engine.step();
+                tick += delta;
+
+                if (slot < worldCount) {
+                    engine.jump(slot);
+                } else if (slot < 2 * worldCount) {
+                    engine.reset(slot - worldCount);
+                } else {
+                    engine.reset();
+                }
+            }
+
+            long endTick = readVarLong(in);
+            for (; tick < endTick; tick++) engine.step();
+
+            int[] expectedScores = new int[worldCount];
+            int[] actualScores = new int[worldCount];
+            for (int i = 0; i < worldCount; i++) {
+                expectedScores[i] = (int) readVarLong(in);
+                actualScores[i] = engine.getScore(i);
+            }
+            long expectedHash = in.readLong();
+            return new Result(endTick, expectedScores, actualScores, expectedHash, engine.stateHash(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.engine;
+
+public class Ring {
+    private int index; // spawn order within the round, 0 = first ring
+    private double y; // world space, fixed once spawned
+    private float innerRadius, outerRadius;
+    private float rotationSpeed;
+    private float currentAngle = 0;
+    private float prevAngle = 0;
+    private boolean passed = false;
+
+    public Ring(double y, float innerRadius, float outerRadius, float rotationSpeed) {
+        this(0, y, innerRadius, outerRadius, rotationSpeed);
+    }
+
+    public Ring(int index, double y, float innerRadius, float outerRadius, float rotationSpeed) {
+        this.index = index;
+        this.y = y;
+        this.innerRadius = innerRadius;
+        this.outerRadius = outerRadius;
+        this.rotationSpeed = rotationSpeed;
+    }
+
+    public Ring(Ring other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this ring with another's state, so lookahead copies can reuse objects.
+     */
+    public void copyFrom(Ring other) {
+        this.index = other.index;
+        this.y = other.y;
+        this.innerRadius = other.innerRadius;
+        this.outerRadius = other.outerRadius;
+        this.rotationSpeed = other.rotationSpeed;
+        this.currentAngle = other.currentAngle;
+        this.prevAngle = other.prevAngle;
+        this.passed = other.passed;
+    }
+
+    public void update() {
+        currentAngle += rotationSpeed;
+        if (currentAngle > 360) currentAngle -= 360;
+        if (currentAngle < 0) currentAngle += 360;
+    }
+
+    public void savePreviousState() {
+        prevAngle = currentAngle;
+    }
+
+    /**
+     * @param alpha interpolation factor between the previous and current tick
+     */
+    public float getInterpolatedAngle(float alpha) {
+        // Take the short way around when the angle wrapped at 0/360
+        float delta = currentAngle - prevAngle;
+        if (delta > 180) delta -= 360;
+        if (delta < -180) delta += 360;
+        return prevAngle + delta * alpha;
+    }
+
+    /**
+     * Angle of a point around the ring center, in the ring's rotating frame.
+     *
+     * @return degrees in [0, 360)
+     */
+    public double getLocalAngle(float px, double py) {
+        double angle = Math.toDegrees(Math.atan2(py - this.y, px - 0));
+        if (angle < 0) {
+            angle += 360;
+        }
+
+        // Adjust for ring's rotation
+        return (angle - currentAngle + 360) % 360;
+    }
+
+    public int getSegmentAtAngle(float px, double py) {
+        double angle = getLocalAngle(px, py);
+
+        if (angle >= 0 && angle < 90) return 0;       // First segment (e.g., Cyan)
+        if (angle >= 90 && angle < 180) return 1;     // Second (e.g., Yellow)
+        if (angle >= 180 && angle < 270) return 2;    // Third (e.g., Magenta)
+        if (angle >= 270 && angle < 360) return 3;    // Fourth (e.g., Purple)
+
+        return -1; // Should not happen
+    }
+
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public double getY() { return y; }
+    public float getInnerRadius() { return innerRadius; }
+    public float getOuterRadius() { return outerRadius; }
+    public float getRotationSpeed() { return rotationSpeed; }
+    public float getCurrentAngle() { return currentAngle; }
+    public boolean isPassed() { return passed; }
+    public void setPassed(boolean passed) { this.passed = passed; }
+}
@@ -0,0 +1,63 @@
+package org.example.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how {@link ParallelWorlds} throughput scales with thread count.
+ * Runs the same seeded batch at 1, 2, 4 ... 64 threads, prints world-ticks per
+ * second, speedup and efficiency, and checks that every run ends in the same
+ * state hash.
+ *
+ * Usage: ScalingReport [worlds] [ticks] [maxThreads]
+ */
+public class ScalingReport {
+    private static final long SEED = 42;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int worldCount = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int t = 1; t <= maxThreads; t *= 2) threadCounts.add(t);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("worlds=%d ticks=%d availableProcessors=%d%n", worldCount, ticks, cores);
+        System.out.println("threads,worldTicksPerSec,speedup,efficiency,stateHash");
+
+        InputPolicy policy = new RandomInputPolicy(1.0 / 12, SEED);
+        double baseline = 0;
+        Long expectedHash = null;
+        for (int threads : threadCounts) {
+            for (int w = 0; w < WARMUP_ROUNDS; w++) {
+                run(worldCount, ticks, threads, policy);
+            }
+            long start = System.nanoTime();
+            long hash = run(worldCount, ticks, threads, policy);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double rate = (double) worldCount * ticks / seconds;
+            if (baseline == 0) baseline = rate;
+            double speedup = rate / baseline;
+            System.out.printf("%d,%.0f,%.2f,%.2f,%016x%s%n", threads, rate, speedup, speedup / threads, hash,
+                    threads > cores ? " (oversubscribed)" : "");
+
+            if (expectedHash == null) {
+                expectedHash = hash;
+            } else if (expectedHash != hash) {
+                System.out.println("ERROR: state differs from the 1-thread run; worlds are not independent");
+                System.exit(1);
+            }
+        }
+    }
+
+    private static long run(int worldCount, int ticks, int threads, InputPolicy policy) {
+        try (ParallelWorlds worlds = new ParallelWorlds(worldCount, SEED, threads)) {
+            worlds.setAutoReset(true);
+            worlds.step(ticks, policy);
+            return worlds.stateHash();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package org.example.engine;
+
+import org.example.engine.events.GameEventBus;
+import org.example.engine.jfr.ColorChangedEvent;
+import org.example.engine.jfr.GameOverEvent;
+import org.example.engine.jfr.RingPassedEvent;
+import org.example.engine.jfr.RingSpawnedEvent;
+import org.example.engine.jfr.WorldResetEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * One player's independent world: ball, rings, color changers and score.
+ * Pure simulation state with no rendering dependency.
+ *
+ * All positions are in world space. Rings and color changers never move
+ * vertically once spawned; instead a per-world camera follows the ball up, and
+ * culling, spawning and the fall-out check are relative to the camera.
+ *
+ * Both entity lists are kept sorted by Y, so collision checks binary-search
+ * to the entities near the ball instead of testing every live obstacle.
+ *
+ * Spawns, scores, color changes, game overs and resets are reported as
+ * Flight Recorder events (see {@link org.example.engine.jfr.GameRecording})
+ * and, if one is set, published to a {@link GameEventBus}; lookahead copies
+ * report nothing.
+ */
+public class World {
+    private static final float COLOR_CHANGER_RADIUS = 0.35f;
+
+    private final int index;
+    private final long seed;
+    private final GameRules rules;
+    private final Random random; // this world's own stream: rings, initial and picked-up colors
+    private int round; // resets so far; each round gets its own stream seed
+    private final boolean lookahead; // search copy: reports no events
+    private GameEventBus eventBus; // null unless set; never set on lookahead copies
+    private boolean timeCollisions; // off unless set
+    private long collisionNanos; // time in the collision pass since the last takeCollisionNanos
+
+    private PlayerBall player;
+    private final List<Ring> rings = new ArrayList<>();
+    private final List<ColorChanger> colorChangers = new ArrayList<>();
+    private float maxRingOuterRadius; // widest ring spawned since reset, bounds the broad-phase band
+
+    private double cameraY; // world-space Y shown at the viewport center
+    private double prevCameraY;
+    private int ringsSpawned;
+    private Ring deathRing; // ring that ended the round, or the next ring up after a fall
+    private int deathSegment = -1; // segment hit, -1 if the ball fell out
+    private float deathAngle; // ball angle in the ring's frame at the hit
+    private long tick; // ticks since the last reset
+    private int score;
+    private boolean gameOver;
+    private boolean hasPressedSpace;
+
+    /**
+     * @param index world (player) index, 0-based
+     * @param seed seed for this world's random stream
+     */
+    public World(int index, long seed) {
+        this(index, seed, new GameRules());
+    }
+
+    /**
+     * @param rules physics and ring generation; read-only from here on
+     */
+    public World(int index, long seed, GameRules rules) {
+        this.index = index;
+        this.seed = seed;
+        this.rules = rules;
+        this.random = new Random();
+        this.lookahead = false;
+        reset();
+    }
+
+    /**
+     * Independent copy for lookahead search. The copy has its own random
+     * stream, so rings it spawns and colors it picks won't match the original
+     * beyond what is already on screen.
+     */
+    public World copy() {
+        return new World(this);
+    }
+
+    private World(World other) {
+        this.index = other.index;
+        this.seed = other.seed;
+        this.rules = other.rules;
+        this.random = new Random();
+        this.lookahead = true;
+        this.player = new PlayerBall(other.player, random);
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this copy with another world's state, reusing this copy's
+     * ball, ring and changer objects so repeated lookahead doesn't allocate.
+     * Only valid on worlds made by {@link #copy()} from the same world.
+     */
+    public void copyFrom(World other) {
+        if (!lookahead) {
+            throw new IllegalStateException("copyFrom is only for lookahead copies");
+        }
+        random.setSeed(GameEngine.worldSeed(other.seed, -1 - (int) other.tick));
+        this.round = other.round;
+        player.copyFrom(other.player);
+        copyEntities(other.rings, rings, Ring::new, Ring::copyFrom);
+        copyEntities(other.colorChangers, colorChangers, ColorChanger::new, ColorChanger::copyFrom);
+        this.maxRingOuterRadius = other.maxRingOuterRadius;
+        this.ringsSpawned = other.ringsSpawned;
+        this.deathRing = other.deathRing;
+        this.deathSegment = other.deathSegment;
+        this.deathAngle = other.deathAngle;
+        this.cameraY = other.cameraY;
+        this.prevCameraY = other.prevCameraY;
+        this.tick = other.tick;
+        this.score = other.score;
+        this.gameOver = other.gameOver;
+        this.hasPressedSpace = other.hasPressedSpace;
+    }
+
+    private static <T> void copyEntities(List<T> from, List<T> into, UnaryOperator<T> create, BiConsumer<T, T> copy) {
+        int reuse = Math.min(from.size(), into.size());
+        for (int i = 0; i < reuse; i++) copy.accept(into.get(i), from.get(i));
+        for (int i = reuse; i < from.size(); i++) into.add(create.apply(from.get(i)));
+        while (into.size() > from.size()) into.remove(into.size() - 1);
+    }
+
+    /**
+     * Starts this world over: new ball, fresh rings, score 0. Each round's
+     * layout is determined by the world seed and how many resets came before.
+     */
+    public void reset() {
+        startRound(round + 1);
+    }
+
+    /**
+     * Starts this world over at the given round number, e.g. to replay a
+     * recorded session from the round it started in.
+     */
+    public void startRound(int round) {
+        WorldResetEvent resetEvent = lookahead ? null : WorldResetEvent.begin(index, round, tick, score);
+        this.round = round;
+        random.setSeed(GameEngine.worldSeed(seed, round));
+        player = new PlayerBall(0.5f, 0.6f, random); // radius slightly larger for visibility
+        rings.clear();
+        colorChangers.clear();
+        maxRingOuterRadius = 0;
+        ringsSpawned = 0;
+        deathRing = null;
+        deathSegment = -1;
+        deathAngle = 0;
+        cameraY = 0;
+        prevCameraY = 0;
+        tick = 0;
+        score = 0;
+        gameOver = false;
+        hasPressedSpace = false;
+        spawnInitialRings();
+        if (resetEvent != null) resetEvent.commit();
+    }
+
+    /**
+     * Starts the ball moving (on first press) and makes it jump.
+     * Ignored once the game is over.
+     */
+    public void jump() {
+        if (gameOver) return;
+        hasPressedSpace = true;
+        player.jump(rules.getJumpVelocity());
+    }
+
+    /**
+     * Advances this world by one tick (gravity, collisions, spawning).
+     */
+    public void step() {
+        if (gameOver) return; // player cannot move if lost
+        tick++;
+
+        PlayerBall p = player;
+        p.savePreviousState();
+        prevCameraY = cameraY;
+        for (Ring r : rings) r.savePreviousState();
+
+        // Apply gravity only after first press
+        if (hasPressedSpace) {
+            p.applyGravity(rules.getGravity());
+        }
+        p.update();
+
+        // Camera follows the ball up, never down
+        if (hasPressedSpace && p.getY() > cameraY) {
+            cameraY = p.getY();
+        }
+
+        // Only check collisions if player started
+        if (hasPressedSpace) {
+            if (timeCollisions) {
+                long start = System.nanoTime();
+                checkCollisions();
+                collisionNanos += System.nanoTime() - start;
+            } else {
+                checkCollisions();
+            }
+        }
+
+        // Update ring rotations
+        for (Ring r : rings) r.update();
+
+        // Remove offscreen objects. Rings are sorted by Y, so those are a prefix;
+        // plain loops rather than removeIf keep the tick allocation-free.
+        double cullY = cameraY - 20;
+        while (!rings.isEmpty() && rings.get(0).getY() < cullY) {
+            rings.remove(0);
+        }
+        for (int i = colorChangers.size() - 1; i >= 0; i--) {
+            ColorChanger c = colorChangers.get(i);
+            if (c.isCollected() || c.getY() < cullY) colorChangers.remove(i);
+        }
+
+        // Spawn new rings if needed
+        if (!rings.isEmpty() && rings.get(rings.size() - 1).getY() < cameraY + 15) {
+            double lastRingY = rings.get(rings.size() - 1).getY();
+            spawnRing(lastRingY + nextRingSpacing());
+        }
+
+        // Out-of-bounds check
+        if (p.getY() < cameraY - 12) {
+            gameOver = true;
+            for (Ring r : rings) {
+                if (!r.isPassed()) {
+                    deathRing = r;
+                    break;
+                }
+            }
+            if (!lookahead) {
+                GameOverEvent.emit(index, round, tick, false, deathRing != null ? deathRing.getIndex() : -1, -1,
+                        p.getColorIndex(), 0, score);
+            }
+            if (eventBus != null) {
+                eventBus.gameOver(index, round, tick, deathRing != null ? deathRing.getIndex() : -1, -1,
+                        p.getColorIndex(), score);
+            }
+        }
+    }
+
+    /**
+     * Tests the ball against nearby rings and color changers. Called by
+     * {@link #step()}; public so the collision pass can be benchmarked alone.
+     */
+    public void checkCollisions() {
+        PlayerBall p = player;
+
+        double ballY = p.getY();
+
+        // Ring collision: only rings whose band can reach the ball
+        double ringReach = maxRingOuterRadius + p.getRadius();
+        for (int i = YIndex.lowerBound(rings, Ring::getY, ballY - ringReach); i < rings.size(); i++) {
+            Ring ring = rings.get(i);
+            if (ring.getY() > ballY + ringReach) break;
+            if (p.isCollidingWithRing(ring)) {
+                int segment = ring.getSegmentAtAngle(p.getX(), p.getY());
+                if (segment != p.getColorIndex()) {
+                    gameOver = true;
+                    deathRing = ring;
+                    deathSegment = segment;
+                    deathAngle = (float) ring.getLocalAngle(p.getX(), p.getY());
+                    if (!lookahead) {
+                        GameOverEvent.emit(index, round, tick, true, ring.getIndex(), segment,
+                                p.getColorIndex(), deathAngle, score);
+                    }
+                    if (eventBus != null) {
+                        eventBus.collision(index, round, tick, ring.getIndex(), segment, p.getColorIndex(), deathAngle);
+                        eventBus.gameOver(index, round, tick, ring.getIndex(), segment, p.getColorIndex(), score);
+                    }
+                    return;
+                } else if (!ring.isPassed()) {
+                    score++;
+                    ring.setPassed(true);
+                    if (!lookahead) {
+                        RingPassedEvent.emit(index, round, tick, ring.getIndex(), score, p.getColorIndex());
+                    }
+                    if (eventBus != null) eventBus.scorePassed(index, round, tick, ring.getIndex(), score, p.getColorIndex());
+                }
+            }
+        }
+
+        // Color changer collision
+        double changerReach = COLOR_CHANGER_RADIUS + p.getRadius();
+        for (int i = YIndex.lowerBound(colorChangers, ColorChanger::getY, ballY - changerReach); i < colorChangers.size(); i++) {
+            ColorChanger changer = colorChangers.get(i);
+            if (changer.getY() > ballY + changerReach) break;
+            if (!changer.isCollected() && changer.isColliding(p)) {
+                int from = p.getColorIndex();
+                p.changeColor();
+                changer.collect();
+                if (!lookahead) ColorChangedEvent.emit(index, round, tick, from, p.getColorIndex());
+                if (eventBus != null) eventBus.colorChanged(index, round, tick, from, p.getColorIndex());
+            }
+        }
+    }
+
+    private void spawnInitialRings() {
+        float firstRingY = 5.0f;
+        spawnRing(firstRingY);
+        for (int i = 1; i < 3; i++) {
+            double lastRingY = rings.get(rings.size() - 1).getY();
+            spawnRing(lastRingY + nextRingSpacing());
+        }
+
+        // Set ball starting position just below the first ring
+        player.setY(firstRingY - 2.0f); // adjust offset so it's under the ring
+        player.savePreviousState();
+    }
+
+    private float nextRingSpacing() {
+        return rules.getBaseRingSpacing() + random.nextFloat() * rules.getRingSpacingJitter();
+    }
+
+    private void spawnRing(double y) {
+        float outerRadius = rules.getRingOuterRadiusMin()
+                + random.nextFloat() * (rules.getRingOuterRadiusMax() - rules.getRingOuterRadiusMin());
+        float thickness = rules.getRingThicknessMin()
+                + random.nextFloat() * (rules.getRingThicknessMax() - rules.getRingThicknessMin());
+        float innerRadius = outerRadius - thickness;
+        float baseSpeed = rules.getBaseRotationSpeed();
+        float rotationSpeed = baseSpeed * (rules.getRotationReferenceRadius() / outerRadius) * (random.nextBoolean() ? 1 : -1);
+
+        int ringIndex = ringsSpawned++;
+        YIndex.insert(rings, Ring::getY, new Ring(ringIndex, y, innerRadius, outerRadius, rotationSpeed));
+        maxRingOuterRadius = Math.max(maxRingOuterRadius, outerRadius);
+
+        boolean colorChanger = random.nextFloat() > 1f - rules.getColorChangerChance();
+        if (colorChanger) {
+            double colorChangerY = y + (rules.getBaseRingSpacing() / 2);
+            YIndex.insert(colorChangers, ColorChanger::getY, new ColorChanger(0, colorChangerY, COLOR_CHANGER_RADIUS, random));
+        }
+        if (!lookahead) {
+            RingSpawnedEvent.emit(index, round, tick, ringIndex, y, outerRadius, innerRadius, rotationSpeed, colorChanger);
+        }
+        if (eventBus != null) eventBus.spawned(index, round, tick, ringIndex, y, outerRadius);
+    }
+
+    /**
+     * Hash of everything that affects future play, for comparing runs.
+     */
+    public long stateHash() {
+        long h = 17;
+        h = 31 * h + tick;
+        h = 31 * h + score;
+        h = 31 * h + (gameOver ? 1 : 0);
+        h = 31 * h + (hasPressedSpace ? 1 : 0);
+        h = 31 * h + Double.hashCode(cameraY);
+        h = 31 * h + Double.hashCode(player.getY());
+        h = 31 * h + Float.floatToIntBits(player.getVelocityY());
+        h = 31 * h + player.getColorIndex();
+        for (Ring r : rings) {
+            h = 31 * h + Double.hashCode(r.getY());
+            h = 31 * h + Float.floatToIntBits(r.getCurrentAngle());
+            h = 31 * h + Float.floatToIntBits(r.getOuterRadius());
+            h = 31 * h + (r.isPassed() ? 1 : 0);
+        }
+        for (ColorChanger c : colorChangers) {
+            h = 31 * h + Double.hashCode(c.getY());
+            h = 31 * h + (c.isCollected() ? 1 : 0);
+        }
+        return h;
+    }
+
+    /**
+     * Measures the collision pass of every step from now on, for
+     * {@link #takeCollisionNanos()}. Costs two clock reads per step.
+     */
+    public void setCollisionTiming(boolean enabled) {
+        timeCollisions = enabled;
+    }
+
+    /**
+     * Time spent in the collision pass since the last call; 0 unless
+     * {@link #setCollisionTiming} is on.
+     */
+    public long takeCollisionNanos() {
+        long nanos = collisionNanos;
+        collisionNanos = 0;
+        return nanos;
+    }
+
+    /**
+     * Publishes this world's scores, collisions, color changes, game overs
+     * and spawns to the bus, or stops publishing if null. Publishing must
+     * stay on one thread at a time (see {@link GameEventBus}).
+     */
+    public void setEventBus(GameEventBus eventBus) {
+        if (lookahead && eventBus != null) {
+            throw new IllegalStateException("lookahead copies publish no events");
+        }
+        this.eventBus = eventBus;
+    }
+
+    public GameRules getRules() { return rules; }
+    public int getIndex() { return index; }
+    public long getSeed() { return seed; }
+    public int getRound() { return round; }
+    public long getTick() { return tick; }
+    /**
+     * @param alpha interpolation factor between the previous and current tick
+     */
+    public double getInterpolatedCameraY(float alpha) {
+        return prevCameraY + (cameraY - prevCameraY) * alpha;
+    }
+
+    /**
+     * @return the ring that ended the round (or the next ring after a fall),
+     *         null while the round is still running
+     */
+    public Ring getDeathRing() { return deathRing; }
+    public int getDeathSegment() { return deathSegment; }
+    public float getDeathAngle() { return deathAngle; }
+    public double getCameraY() { return cameraY; }
+    public PlayerBall getPlayer() { return player; }
+    public List<Ring> getRings() { return rings; }
+    public List<ColorChanger> getColorChangers() { return colorChangers; }
+    public int getScore() { return score; }
+    public boolean isGameOver() { return gameOver; }
+    public boolean hasStarted() { return hasPressedSpace; }
+}
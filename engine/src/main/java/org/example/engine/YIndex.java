@@ -0,0 +1,54 @@
+package org.example.engine;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Helpers for lists kept sorted by world-space Y, used as a broad phase:
+ * collision only visits the entities whose vertical band can reach the ball.
+ */
+final class YIndex {
+    private YIndex() {}
+
+    /**
+     * @return index of the first element with y >= minY, or size() if none
+     */
+    static <T> int lowerBound(List<T> sorted, ToDoubleFunction<? super T> y, double minY) {
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (y.applyAsDouble(sorted.get(mid)) < minY) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Inserts keeping the list sorted. Entities normally spawn above everything
+     * else, so this is an append in practice.
+     */
+    static <T> void insert(List<T> sorted, ToDoubleFunction<? super T> y, T item) {
+        double itemY = y.applyAsDouble(item);
+        int size = sorted.size();
+        if (size == 0 || y.applyAsDouble(sorted.get(size - 1)) <= itemY) {
+            sorted.add(item);
+            return;
+        }
+        // Upper bound, so equal Y keeps spawn order
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (y.applyAsDouble(sorted.get(mid)) <= itemY) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        sorted.add(lo, item);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.engine.events;
+
+/**
+ * One event as seen by a {@link GameEventListener}. Each subscriber owns a
+ * single instance that is refilled for every event, so it is only valid
+ * during {@link GameEventListener#onEvent}; copy out what you need to keep.
+ * Fields a type doesn't use (see {@link GameEventType}) are -1 or 0.
+ */
+public final class GameEvent {
+    GameEventType type;
+    long sequence;
+    int world;
+    int round;
+    long tick;
+    int ring;
+    int score;
+    int color;
+    int detail; // segment, or previous color
+    float angle; // or radius for spawns
+    double y;
+
+    GameEvent() {}
+
+    public GameEventType getType() { return type; }
+    /** Position in the bus; gaps mean the subscriber fell behind and missed events. */
+    public long getSequence() { return sequence; }
+    public int getWorld() { return world; }
+    public int getRound() { return round; }
+    /** Tick of the round the event happened in. */
+    public long getTick() { return tick; }
+    public int getRing() { return ring; }
+    public int getScore() { return score; }
+    public int getColor() { return color; }
+    /** Segment hit for {@link GameEventType#COLLISION} and {@link GameEventType#GAME_OVER}. */
+    public int getSegment() { return detail; }
+    /** Color before a {@link GameEventType#COLOR_CHANGED}. */
+    public int getPreviousColor() { return detail; }
+    /** Ball angle in the ring's frame at a collision, degrees. */
+    public float getAngle() { return angle; }
+    /** Outer radius of a spawned ring. */
+    public float getRadius() { return angle; }
+    /** World-space Y of a spawned ring. */
+    public double getY() { return y; }
+
+    @Override
+    public String toString() {
+        return type + "{world=" + world + ", round=" + round + ", tick=" + tick + ", ring=" + ring
+                + ", score=" + score + ", color=" + color + ", detail=" + detail + ", angle=" + angle + ", y=" + y + "}";
+    }
+}
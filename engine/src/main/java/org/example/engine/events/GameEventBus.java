@@ -0,0 +1,285 @@
+package org.example.engine.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, typed game events from the simulation to any number of
+ * subscribers (console log, stats, UI, audio), each on its own thread.
+ *
+ * Events are written field by field into a preallocated ring of parallel
+ * arrays, so publishing allocates nothing, takes no lock and never waits:
+ * when a subscriber falls a whole ring behind, the oldest events are simply
+ * overwritten and that subscriber counts them as missed. Every subscriber
+ * sees every event it keeps up with, in order (broadcast, not work sharing).
+ * An idle subscriber thread sleeps until the next event is published.
+ *
+ * Publishing is single-producer: calls must not overlap, e.g. because they
+ * all come from the simulation thread or are made under the world lock.
+ */
+public final class GameEventBus implements AutoCloseable {
+    private static final Subscription[] NO_SUBSCRIPTIONS = {};
+
+    private final int mask;
+    private final GameEventType[] types;
+    private final int[] worlds, rounds, rings, scores, colors, details;
+    private final long[] ticks;
+    private final float[] angles;
+    private final double[] ys;
+    // Per slot: sequence of the event in it, or -1 while it is being rewritten
+    private final AtomicLongArray slotSequence;
+    private final AtomicLong published = new AtomicLong(); // events published so far
+    private final Object subscriptionLock = new Object(); // guards changes to subscriptions and closed
+    // Copy on write, so the publisher can walk it without locking or allocating
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity events a subscriber may lag behind before missing
+     *                 some; rounded up to a power of two
+     */
+    public GameEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        mask = size - 1;
+        types = new GameEventType[size];
+        worlds = new int[size];
+        rounds = new int[size];
+        rings = new int[size];
+        scores = new int[size];
+        colors = new int[size];
+        details = new int[size];
+        ticks = new long[size];
+        angles = new float[size];
+        ys = new double[size];
+        slotSequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) slotSequence.set(i, -1);
+    }
+
+    public void scorePassed(int world, int round, long tick, int ring, int score, int color) {
+        publish(GameEventType.SCORE_PASSED, world, round, tick, ring, score, color, -1, 0, 0);
+    }
+
+    public void collision(int world, int round, long tick, int ring, int segment, int color, float angle) {
+        publish(GameEventType.COLLISION, world, round, tick, ring, 0, color, segment, angle, 0);
+    }
+
+    public void colorChanged(int world, int round, long tick, int from, int to) {
+        publish(GameEventType.COLOR_CHANGED, world, round, tick, -1, 0, to, from, 0, 0);
+    }
+
+    /**
+     * @param ring ring hit, or the next ring up after a fall; -1 if none
+     * @param segment segment hit, -1 if the ball fell out
+     */
+    public void gameOver(int world, int round, long tick, int ring, int segment, int color, int score) {
+        publish(GameEventType.GAME_OVER, world, round, tick, ring, score, color, segment, 0, 0);
+    }
+
+    public void spawned(int world, int round, long tick, int ring, double y, float outerRadius) {
+        publish(GameEventType.SPAWNED, world, round, tick, ring, 0, -1, -1, outerRadius, y);
+    }
+
+    private void publish(GameEventType type, int world, int round, long tick, int ring, int score,
+                         int color, int detail, float angle, double y) {
+        long sequence = published.get(); // only this thread writes it
+        int slot = (int) sequence & mask;
+        // Mark the slot torn before overwriting it, so a lagging reader can tell
+        slotSequence.setOpaque(slot, -1);
+        VarHandle.storeStoreFence();
+        types[slot] = type;
+        worlds[slot] = world;
+        rounds[slot] = round;
+        ticks[slot] = tick;
+        rings[slot] = ring;
+        scores[slot] = score;
+        colors[slot] = color;
+        details[slot] = detail;
+        angles[slot] = angle;
+        ys[slot] = y;
+        slotSequence.setRelease(slot, sequence);
+        // Volatile, not release: it must be ordered before the read of parked
+        // below, or a subscriber just going to sleep could miss this event
+        published.set(sequence + 1);
+        for (Subscription s : subscriptions) {
+            if (s.parked) LockSupport.unpark(s.thread);
+        }
+    }
+
+    /**
+     * Starts a thread delivering every event published from now on to the
+     * listener. An exception from the listener is printed and the event
+     * skipped.
+     */
+    public Subscription subscribe(String name, GameEventListener listener) {
+        Subscription subscription = new Subscription(name, listener, published.getAcquire());
+        synchronized (subscriptionLock) {
+            if (closed) throw new IllegalStateException("bus closed");
+            Subscription[] grown = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+            grown[grown.length - 1] = subscription;
+            subscriptions = grown;
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /** Events published so far. */
+    public long getPublished() {
+        return published.getAcquire();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Stops every subscription after it has delivered what was already
+     * published, waiting up to a second for each.
+     */
+    @Override
+    public void close() {
+        Subscription[] toClose;
+        synchronized (subscriptionLock) {
+            closed = true;
+            toClose = subscriptions;
+            subscriptions = NO_SUBSCRIPTIONS;
+        }
+        for (Subscription s : toClose) s.close();
+    }
+
+    private void remove(Subscription subscription) {
+        synchronized (subscriptionLock) {
+            Subscription[] current = subscriptions;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] != subscription) continue;
+                Subscription[] shrunk = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                subscriptions = shrunk;
+                return;
+            }
+        }
+    }
+
+    /**
+     * One subscriber's thread and position in the ring.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final GameEventListener listener;
+        private final GameEvent event = new GameEvent();
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile long next; // sequence of the next event to deliver
+        private volatile long missed;
+        private volatile boolean parked; // asleep or about to be; the publisher wakes it
+
+        private Subscription(String name, GameEventListener listener, long start) {
+            this.name = name;
+            this.listener = listener;
+            this.next = start;
+            thread = new Thread(this::run, "events-" + name);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (true) {
+                boolean stopping = !running;
+                if (drain() > 0) continue;
+                if (stopping) return; // drained everything published before close()
+                // Announce the sleep before the last look, so a publish in
+                // between either is seen here or sees parked and unparks
+                parked = true;
+                if (published.get() == next && running) LockSupport.park(this);
+                parked = false;
+            }
+        }
+
+        /** Delivers what is available; returns events delivered. */
+        private int drain() {
+            long position = next;
+            int delivered = 0;
+            while (true) {
+                long end = published.getAcquire();
+                if (position >= end) break;
+                if (end - position > mask + 1) {
+                    // Lapped: everything before the last ring's worth is gone
+                    missed += end - (mask + 1) - position;
+                    position = end - (mask + 1);
+                }
+                if (!read(position)) {
+                    // Overwritten while reading; re-check how far behind we are
+                    missed++;
+                    position++;
+                    continue;
+                }
+                position++;
+                next = position;
+                try {
+                    listener.onEvent(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Event subscriber " + name + " failed on " + event + ": " + e);
+                }
+                delivered++;
+            }
+            next = position;
+            return delivered;
+        }
+
+        /** Copies the event at {@code sequence} into {@link #event}; false if it was overwritten. */
+        private boolean read(long sequence) {
+            int slot = (int) sequence & mask;
+            if (slotSequence.getAcquire(slot) != sequence) return false;
+            GameEvent e = event;
+            e.type = types[slot];
+            e.world = worlds[slot];
+            e.round = rounds[slot];
+            e.tick = ticks[slot];
+            e.ring = rings[slot];
+            e.score = scores[slot];
+            e.color = colors[slot];
+            e.detail = details[slot];
+            e.angle = angles[slot];
+            e.y = ys[slot];
+            e.sequence = sequence;
+            VarHandle.loadLoadFence();
+            return slotSequence.getOpaque(slot) == sequence;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Events this subscriber has handled or skipped. */
+        public long getPosition() {
+            return next;
+        }
+
+        /** Events overwritten before this subscriber got to them. */
+        public long getMissed() {
+            return missed;
+        }
+
+        /**
+         * Stops delivering once what was already published has been handled,
+         * waiting up to a second, and leaves the bus. Safe to call from the
+         * listener itself.
+         */
+        @Override
+        public void close() {
+            running = false;
+            remove(this);
+            LockSupport.unpark(thread);
+            if (thread == Thread.currentThread()) return;
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
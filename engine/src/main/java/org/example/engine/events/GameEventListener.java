@@ -0,0 +1,13 @@
+package org.example.engine.events;
+
+/**
+ * Consumes events on its subscription's own thread. Taking long only makes
+ * this subscriber miss events; it never holds up the simulation.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    /**
+     * @param event valid only during this call
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,17 @@
+package org.example.engine.events;
+
+/**
+ * Kinds of {@link GameEvent}, and which of its fields each one fills.
+ */
+public enum GameEventType {
+    /** Ball crossed a ring on its own color: ring, score, color. */
+    SCORE_PASSED,
+    /** Ball hit a ring segment of another color: ring, segment, color, angle. */
+    COLLISION,
+    /** Ball picked up a color changer: color (new), previous color. */
+    COLOR_CHANGED,
+    /** Round ended: ring (-1 if none), segment (-1 after a fall), score. */
+    GAME_OVER,
+    /** Ring generated: ring, y, radius. */
+    SPAWNED
+}
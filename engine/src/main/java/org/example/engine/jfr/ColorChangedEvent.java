@@ -0,0 +1,27 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("colorpulse.ColorChanged")
+@Label("Color Changed")
+@Description("The ball picked up a color changer")
+public class ColorChangedEvent extends WorldEvent {
+    @Label("From")
+    int from;
+
+    @Label("To")
+    int to;
+
+    public static void emit(int world, int round, long tick, int from, int to) {
+        ColorChangedEvent event = new ColorChangedEvent();
+        if (!event.isEnabled()) return;
+        event.world = world;
+        event.round = round;
+        event.tick = tick;
+        event.from = from;
+        event.to = to;
+        event.commit();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One rendered frame, from the start of display() to the end of drawing
+ * (the buffer swap comes after). Lives in the engine so the recording
+ * helper can enable it, but is only emitted by a renderer.
+ */
+@Name("colorpulse.Frame")
+@Label("Frame")
+@Description("One display() call of the game renderer")
+@Category({"ColorPulse", "Timing"})
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+    @Label("Frame")
+    long frame;
+
+    @Label("Engine Tick")
+    @Description("Latest engine tick shown")
+    long tick;
+
+    @Label("Viewports")
+    int viewports;
+
+    /**
+     * @return the started event, or null when the event is disabled
+     */
+    public static FrameEvent begin(long frame, int viewports) {
+        FrameEvent event = new FrameEvent();
+        if (!event.isEnabled()) return null;
+        event.frame = frame;
+        event.viewports = viewports;
+        event.begin();
+        return event;
+    }
+
+    public void end(long tick) {
+        this.tick = tick;
+        commit();
+    }
+}
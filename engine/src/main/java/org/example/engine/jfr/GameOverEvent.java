@@ -0,0 +1,48 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("colorpulse.GameOver")
+@Label("Game Over")
+@Description("A world's round ended, by hitting a wrong-colored segment or falling out")
+public class GameOverEvent extends WorldEvent {
+    @Label("Collision")
+    @Description("False if the ball fell out of view")
+    boolean collision;
+
+    @Label("Ring")
+    @Description("Ring hit, or the next ring up after a fall; -1 if none")
+    int ring;
+
+    @Label("Segment")
+    @Description("Segment hit, -1 after a fall")
+    int segment;
+
+    @Label("Ball Color")
+    int color;
+
+    @Label("Angle")
+    @Description("Ball angle in the ring's frame at the hit, degrees")
+    float angle;
+
+    @Label("Score")
+    int score;
+
+    public static void emit(int world, int round, long tick, boolean collision, int ring, int segment,
+                            int color, float angle, int score) {
+        GameOverEvent event = new GameOverEvent();
+        if (!event.isEnabled()) return;
+        event.world = world;
+        event.round = round;
+        event.tick = tick;
+        event.collision = collision;
+        event.ring = ring;
+        event.segment = segment;
+        event.color = color;
+        event.angle = angle;
+        event.score = score;
+        event.commit();
+    }
+}
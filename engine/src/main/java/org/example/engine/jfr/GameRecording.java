@@ -0,0 +1,52 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Starts a Flight Recorder recording with the JDK's settings (GC, JIT,
+ * safepoints, ...) plus the game's events, which are off by default and so
+ * cost only a disabled check in the hot paths. Open the file in JDK Mission
+ * Control or with {@code jfr print --categories ColorPulse}.
+ *
+ * For recordings started another way (jcmd, JMC), enable the events by name,
+ * e.g. {@code colorpulse.GameOver#enabled=true}.
+ */
+public final class GameRecording {
+    /** Every game event type. */
+    public static final List<Class<? extends Event>> EVENTS = List.of(
+            RingSpawnedEvent.class, RingPassedEvent.class, GameOverEvent.class, ColorChangedEvent.class,
+            WorldResetEvent.class, TickEvent.class, FrameEvent.class);
+
+    private GameRecording() {}
+
+    /**
+     * Starts recording; the file is written when the recording is stopped or
+     * the JVM exits.
+     *
+     * @param settings JDK configuration to start from, "default" or "profile"
+     */
+    public static Recording start(Path file, String settings) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR configuration " + settings, e);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName("ColorPulse");
+        for (Class<? extends Event> event : EVENTS) {
+            recording.enable(event);
+        }
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("colorpulse.RingPassed")
+@Label("Ring Passed")
+@Description("The ball crossed a ring on its own color and scored")
+public class RingPassedEvent extends WorldEvent {
+    @Label("Ring")
+    int ring;
+
+    @Label("Score")
+    int score;
+
+    @Label("Ball Color")
+    int color;
+
+    public static void emit(int world, int round, long tick, int ring, int score, int color) {
+        RingPassedEvent event = new RingPassedEvent();
+        if (!event.isEnabled()) return;
+        event.world = world;
+        event.round = round;
+        event.tick = tick;
+        event.ring = ring;
+        event.score = score;
+        event.color = color;
+        event.commit();
+    }
+}
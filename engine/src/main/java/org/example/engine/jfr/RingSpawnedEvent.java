@@ -0,0 +1,45 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("colorpulse.RingSpawned")
+@Label("Ring Spawned")
+@Description("A new ring was generated above the camera")
+public class RingSpawnedEvent extends WorldEvent {
+    @Label("Ring")
+    int ring;
+
+    @Label("Y")
+    double y;
+
+    @Label("Outer Radius")
+    float outerRadius;
+
+    @Label("Inner Radius")
+    float innerRadius;
+
+    @Label("Rotation Speed")
+    @Description("Degrees per tick, signed")
+    float rotationSpeed;
+
+    @Label("Color Changer")
+    boolean colorChanger;
+
+    public static void emit(int world, int round, long tick, int ring, double y,
+                            float outerRadius, float innerRadius, float rotationSpeed, boolean colorChanger) {
+        RingSpawnedEvent event = new RingSpawnedEvent();
+        if (!event.isEnabled()) return;
+        event.world = world;
+        event.round = round;
+        event.tick = tick;
+        event.ring = ring;
+        event.y = y;
+        event.outerRadius = outerRadius;
+        event.innerRadius = innerRadius;
+        event.rotationSpeed = rotationSpeed;
+        event.colorChanger = colorChanger;
+        event.commit();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One engine step over all worlds.
+ */
+@Name("colorpulse.Tick")
+@Label("Simulation Tick")
+@Description("GameEngine.step over every world")
+@Category({"ColorPulse", "Timing"})
+@Enabled(false)
+@StackTrace(false)
+public class TickEvent extends Event {
+    @Label("Tick")
+    @Description("Ticks since the engine was created")
+    long tick;
+
+    @Label("Worlds")
+    int worlds;
+
+    @Label("Worlds Running")
+    @Description("Worlds not yet game over")
+    int running;
+
+    /**
+     * @return the started event, or null when the event is disabled
+     */
+    public static TickEvent begin(long tick, int worlds) {
+        TickEvent event = new TickEvent();
+        if (!event.isEnabled()) return null;
+        event.tick = tick;
+        event.worlds = worlds;
+        event.begin();
+        return event;
+    }
+
+    public void end(int running) {
+        this.running = running;
+        commit();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by every gameplay event: which world, which round and which
+ * tick of that round it happened in.
+ */
+@Category({"ColorPulse", "Gameplay"})
+@Enabled(false)
+@StackTrace(false)
+abstract class WorldEvent extends Event {
+    @Label("World")
+    int world;
+
+    @Label("Round")
+    int round;
+
+    @Label("Tick")
+    long tick;
+}
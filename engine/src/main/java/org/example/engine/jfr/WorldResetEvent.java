@@ -0,0 +1,31 @@
+package org.example.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans the reset itself, so a slow one (it spawns the first rings) shows up
+ * with its duration. Tick is how far the previous round got.
+ */
+@Name("colorpulse.WorldReset")
+@Label("World Reset")
+@Description("A world started a new round")
+public class WorldResetEvent extends WorldEvent {
+    @Label("Previous Score")
+    int previousScore;
+
+    /**
+     * @return the started event, or null when the event is disabled
+     */
+    public static WorldResetEvent begin(int world, int round, long tick, int previousScore) {
+        WorldResetEvent event = new WorldResetEvent();
+        if (!event.isEnabled()) return null;
+        event.world = world;
+        event.round = round;
+        event.tick = tick;
+        event.previousScore = previousScore;
+        event.begin();
+        return event;
+    }
+}
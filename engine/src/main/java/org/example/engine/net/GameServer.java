@@ -0,0 +1,451 @@
+package org.example.engine.net;
+
+import org.example.engine.GameEngine;
+import org.example.engine.GameRules;
+import org.example.engine.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hosts many remote games at once. Every connection is one session with its
+ * own authoritative {@link GameEngine}; clients send key presses and get a
+ * state snapshot after every tick (see {@link Protocol}).
+ *
+ * Sessions are spread over a few event loops, one per core by default. Each
+ * loop owns a {@link Selector} and its sessions outright: it reads input,
+ * steps every session at {@value GameEngine#TICKS_PER_SECOND} Hz and writes
+ * the snapshots, so no session is touched by two threads and nothing is
+ * locked. Sockets are non-blocking; a client that can't keep up with its
+ * snapshots skips the ones that don't fit rather than holding up its loop.
+ *
+ * Each loop records how late every tick started (jitter), how long its
+ * sessions took to step, and how much of the time it was awake at all, so
+ * {@link #report()} can tell how many sessions a core holds.
+ *
+ * Usage: GameServer [port] [loops]
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7460;
+
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final InetSocketAddress address;
+    private final GameRules rules;
+    private final EventLoop[] loops;
+    private ServerSocketChannel server;
+    private Thread acceptor;
+    private volatile boolean running;
+    private int nextLoop; // acceptor thread only
+    private volatile long startNanos;
+
+    /**
+     * @param address where to listen; port 0 picks a free one
+     * @param loopCount event loop threads
+     */
+    public GameServer(InetSocketAddress address, int loopCount, GameRules rules) {
+        if (loopCount <= 0) {
+            throw new IllegalArgumentException("loopCount must be positive: " + loopCount);
+        }
+        this.address = address;
+        this.rules = rules;
+        this.loops = new EventLoop[loopCount];
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int loopCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(new InetSocketAddress(port), loopCount, new GameRules());
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.printf("listening on port %d with %d loops%n", server.getPort(), loopCount);
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.println(server.report());
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) return;
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        running = true;
+        startNanos = System.nanoTime();
+        for (EventLoop loop : loops) loop.thread.start();
+        acceptor = new Thread(this::accept, "server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /** Blocking accepts on their own thread; each connection goes to the next loop in turn. */
+    private void accept() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                EventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+                loop.pending.add(channel);
+                loop.selector.wakeup();
+            } catch (IOException e) {
+                if (running) System.err.println("accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting, closes every session and waits for the loops to exit.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            server.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        for (EventLoop loop : loops) loop.selector.wakeup();
+        for (EventLoop loop : loops) {
+            try {
+                loop.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Starts the statistics over, e.g. after a warm-up. Each loop clears
+     * its own on its next wake-up.
+     */
+    public void clearStatistics() {
+        startNanos = System.nanoTime();
+        for (EventLoop loop : loops) {
+            loop.clearRequested = true;
+            loop.selector.wakeup();
+        }
+    }
+
+    /**
+     * Sessions, tick jitter and load since start (or the last
+     * {@link #clearStatistics()}), across all loops. Loop
+     * statistics are read while they run, so they may be a tick stale.
+     */
+    public Report report() {
+        Report report = new Report();
+        report.loops = loops.length;
+        report.seconds = (System.nanoTime() - startNanos) / 1e9;
+        for (EventLoop loop : loops) {
+            report.sessions += loop.sessions.size();
+            report.ticks += loop.ticks;
+            report.busyNanos += loop.busyNanos;
+            report.snapshots += loop.snapshots;
+            report.skipped += loop.skipped;
+            report.bytesOut += loop.bytesOut;
+            report.jitter.merge(loop.jitter);
+            report.tickWork.merge(loop.tickWork);
+        }
+        return report;
+    }
+
+    /**
+     * Server-side load summary.
+     */
+    public static final class Report {
+        int loops;
+        int sessions;
+        double seconds;
+        long ticks;
+        long busyNanos;
+        long snapshots;
+        long skipped;
+        long bytesOut;
+        final LatencyHistogram jitter = new LatencyHistogram();
+        final LatencyHistogram tickWork = new LatencyHistogram();
+
+        public int getSessions() { return sessions; }
+        /** Time the loops spent awake (input, ticks, output), in cores. */
+        public double getBusyCores() { return seconds > 0 ? busyNanos / 1e9 / seconds : 0; }
+        /** Sessions one core could hold at full load, extrapolated from the current load. */
+        public double getSessionsPerCore() { return getBusyCores() > 0 ? sessions / getBusyCores() : 0; }
+        public LatencyHistogram getJitter() { return jitter; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "server: %d sessions on %d loops, %.2f cores busy -> %.0f sessions per core;"
+                            + " tick jitter p50 %.2f ms, p99 %.2f ms, max %.2f ms;"
+                            + " loop tick work p50 %.3f ms, p99 %.3f ms;"
+                            + " %d snapshots (%d skipped), %.1f KB/s out",
+                    sessions, loops, getBusyCores(), getSessionsPerCore(),
+                    jitter.quantile(0.50) / 1e6, jitter.quantile(0.99) / 1e6, jitter.getMax() / 1e6,
+                    tickWork.quantile(0.50) / 1e6, tickWork.quantile(0.99) / 1e6,
+                    snapshots, skipped, seconds > 0 ? bytesOut / 1e3 / seconds : 0);
+        }
+    }
+
+    /**
+     * One thread, one selector, and the sessions it owns.
+     */
+    private final class EventLoop implements Runnable {
+        final Thread thread;
+        final Selector selector;
+        final ConcurrentLinkedQueue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        final List<Session> sessions = new ArrayList<>(); // this loop only; size() read by report()
+        final long tickNanos = 1_000_000_000L / GameEngine.TICKS_PER_SECOND;
+
+        // Written by this loop, read by report()
+        final LatencyHistogram jitter = new LatencyHistogram(); // tick start minus schedule
+        final LatencyHistogram tickWork = new LatencyHistogram(); // stepping all sessions once
+        volatile boolean clearRequested;
+        volatile long ticks;
+        volatile long busyNanos; // awake rather than waiting in select
+        volatile long snapshots;
+        volatile long skipped;
+        volatile long bytesOut;
+
+        EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "server-loop-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long nextTick = System.nanoTime() + tickNanos;
+            try {
+                while (running) {
+                    long wait = nextTick - System.nanoTime();
+                    if (wait >= 1_000_000L) {
+                        selector.select(wait / 1_000_000L);
+                    } else if (selector.selectNow() == 0 && pending.isEmpty() && wait > 0) {
+                        // Under a millisecond to go: select() can't wait that precisely
+                        LockSupport.parkNanos(wait);
+                    }
+                    long awake = System.nanoTime();
+                    if (clearRequested) clearStatistics();
+                    registerPending();
+                    handleReady();
+
+                    long now = System.nanoTime();
+                    int caughtUp = 0;
+                    while (now - nextTick >= 0 && caughtUp < MAX_CATCH_UP_TICKS) {
+                        jitter.record(now - nextTick);
+                        tick();
+                        long done = System.nanoTime();
+                        tickWork.record(done - now);
+                        nextTick += tickNanos;
+                        caughtUp++;
+                        now = done;
+                    }
+                    if (now - nextTick >= tickNanos) {
+                        nextTick = now + tickNanos; // hopelessly behind: drop the backlog
+                    }
+                    busyNanos += now - awake;
+                }
+            } catch (IOException e) {
+                System.err.println(thread.getName() + " failed: " + e);
+            } finally {
+                for (Session session : sessions) session.close();
+                sessions.clear();
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // closing anyway
+                }
+            }
+        }
+
+        private void clearStatistics() {
+            jitter.clear();
+            tickWork.clear();
+            ticks = 0;
+            busyNanos = 0;
+            snapshots = 0;
+            skipped = 0;
+            bytesOut = 0;
+            clearRequested = false;
+        }
+
+        /** Takes over connections handed in by the acceptor. */
+        private void registerPending() {
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                Session session = new Session(this, channel);
+                try {
+                    session.key = channel.register(selector, SelectionKey.OP_READ, session);
+                    sessions.add(session);
+                } catch (ClosedChannelException e) {
+                    session.close();
+                }
+            }
+        }
+
+        private void handleReady() {
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                Session session = (Session) key.attachment();
+                if (!key.isValid()) continue;
+                if (key.isReadable()) session.read();
+                if (key.isValid() && key.isWritable()) session.flush();
+            }
+        }
+
+        private void tick() {
+            ticks++;
+            for (int i = sessions.size() - 1; i >= 0; i--) {
+                Session session = sessions.get(i);
+                if (session.closed) {
+                    sessions.remove(i);
+                } else {
+                    session.tick();
+                }
+            }
+        }
+    }
+
+    /**
+     * One connection and its game; touched only by its loop's thread.
+     */
+    private final class Session {
+        final EventLoop loop;
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        ByteBuffer out; // direct; holds at most one snapshot, sized on join
+        SelectionKey key;
+        GameEngine engine; // null until JOIN
+        int jumps; // bit per world, applied on the next tick
+        boolean restart;
+        boolean closed;
+
+        Session(EventLoop loop, SocketChannel channel) {
+            this.loop = loop;
+            this.channel = channel;
+        }
+
+        void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            in.flip();
+            int length;
+            while (!closed && (length = Protocol.frameLength(in)) >= 0) {
+                int start = in.position();
+                handle(Protocol.frameType(in), length);
+                in.position(start + length);
+            }
+            in.compact();
+            if (!in.hasRemaining()) close(); // a frame larger than any valid one
+        }
+
+        private void handle(byte type, int length) {
+            int payload = in.position() + 3;
+            if (type == Protocol.JOIN && length == Protocol.JOIN_SIZE && engine == null) {
+                int worlds = in.get(payload);
+                long seed = in.getLong(payload + 1);
+                if (worlds < 1 || worlds > 2) {
+                    close();
+                    return;
+                }
+                if (seed == 0) seed = ThreadLocalRandom.current().nextLong();
+                engine = new GameEngine(worlds, seed, rules);
+                out = ByteBuffer.allocateDirect(Math.max(Protocol.WELCOME_SIZE, Protocol.maxSnapshotSize(worlds)));
+                Protocol.putWelcome(out, seed, worlds, GameEngine.TICKS_PER_SECOND);
+                send();
+            } else if (type == Protocol.KEY && length == Protocol.KEY_SIZE && engine != null) {
+                int keyCode = in.getInt(payload);
+                if (keyCode == Protocol.KEY_SPACE) {
+                    jumps |= 1;
+                } else if (keyCode == Protocol.KEY_UP && engine.getWorldCount() > 1) {
+                    jumps |= 2;
+                } else if (keyCode == Protocol.KEY_ENTER) {
+                    restart = true;
+                }
+            } else {
+                close(); // unknown, malformed or out of order
+            }
+        }
+
+        void tick() {
+            if (engine == null) return;
+            if (restart) {
+                if (engine.isAllGameOver()) engine.reset();
+                restart = false;
+            }
+            for (int w = 0; w < engine.getWorldCount(); w++) {
+                if ((jumps & (1 << w)) != 0) engine.jump(w);
+            }
+            jumps = 0;
+            engine.step();
+
+            if (out.position() > 0) {
+                loop.skipped++; // the last one hasn't gone out yet; send a fresher one later
+                return;
+            }
+            Protocol.putSnapshot(out, engine);
+            loop.snapshots++;
+            send();
+        }
+
+        /** Writes as much of {@link #out} as the socket takes now; the rest on OP_WRITE. */
+        private void send() {
+            flush();
+            if (!closed && out.position() > 0) key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+
+        void flush() {
+            out.flip();
+            try {
+                loop.bytesOut += channel.write(out);
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            out.compact();
+            if (out.position() == 0 && key.isValid()) key.interestOps(SelectionKey.OP_READ);
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            if (key != null) key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+}
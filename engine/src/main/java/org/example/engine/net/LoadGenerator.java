@@ -0,0 +1,252 @@
+package org.example.engine.net;
+
+import org.example.engine.GameEngine;
+import org.example.engine.GameRules;
+import org.example.engine.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Plays many {@link GameServer} sessions at once from one thread, like a
+ * crowd of players: each connection joins, jumps at random (about one
+ * press every {@value #MEAN_TICKS_PER_PRESS} ticks per world, as
+ * {@link org.example.engine.RandomInputPolicy} does) and asks for a new
+ * round whenever its snapshot says every world is over.
+ *
+ * At the end it prints what the clients saw: snapshots per second and the
+ * gaps between consecutive snapshots, which show the server's tick jitter
+ * plus the network's. With {@code local} it first starts a server on the
+ * loopback interface in this JVM and prints the server's own report too,
+ * so the whole setup runs on one machine. The first two seconds are a
+ * warm-up and not reported.
+ *
+ * Usage: LoadGenerator host:port|local sessions seconds [worlds] [serverLoops]
+ */
+public class LoadGenerator {
+    private static final int MEAN_TICKS_PER_PRESS = 12;
+    private static final long SEED = 42;
+    private static final long WARM_UP_NANOS = 2_000_000_000L; // JIT, connection setup; not reported
+
+    private final InetSocketAddress server;
+    private final int worlds;
+    private final Random random = new Random(SEED);
+    private final Selector selector;
+    private final List<Client> clients = new ArrayList<>();
+
+    private final LatencyHistogram gaps = new LatencyHistogram(); // between snapshots of one session
+    private long snapshots;
+    private long bytesIn;
+    private long presses;
+    private long rounds;
+    private int disconnected;
+
+    public LoadGenerator(InetSocketAddress server, int worlds) throws IOException {
+        this.server = server;
+        this.worlds = worlds;
+        this.selector = Selector.open();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadGenerator host:port|local sessions seconds [worlds] [serverLoops]");
+            System.exit(2);
+        }
+        int sessions = Integer.parseInt(args[1]);
+        double seconds = Double.parseDouble(args[2]);
+        int worlds = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int loops = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        GameServer local = null;
+        InetSocketAddress address;
+        if (args[0].equals("local")) {
+            local = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), loops, new GameRules());
+            local.start();
+            address = new InetSocketAddress(InetAddress.getLoopbackAddress(), local.getPort());
+        } else {
+            int colon = args[0].lastIndexOf(':');
+            address = new InetSocketAddress(args[0].substring(0, colon), Integer.parseInt(args[0].substring(colon + 1)));
+        }
+
+        LoadGenerator generator = new LoadGenerator(address, worlds);
+        generator.connect(sessions);
+        System.out.printf("connected %d sessions of %d world(s) to %s%n", sessions, worlds, address);
+        generator.run(WARM_UP_NANOS);
+        generator.clearStatistics();
+        if (local != null) local.clearStatistics();
+        generator.run((long) (seconds * 1e9));
+        System.out.println(generator.report(seconds));
+        if (local != null) {
+            System.out.println(local.report());
+        }
+        generator.close();
+        if (local != null) local.close();
+        System.out.printf("%d cores available%n", Runtime.getRuntime().availableProcessors());
+    }
+
+    public void connect(int sessions) throws IOException {
+        for (int i = 0; i < sessions; i++) {
+            SocketChannel channel = SocketChannel.open(server);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            Client client = new Client(channel);
+            client.out.clear();
+            Protocol.putJoin(client.out, worlds, GameEngine.worldSeed(SEED, i));
+            client.send();
+            client.key = channel.register(selector, SelectionKey.OP_READ, client);
+            clients.add(client);
+        }
+    }
+
+    /**
+     * Reads snapshots and sends presses for the given time, pressing once
+     * per server tick period at most.
+     */
+    public void run(long nanos) throws IOException {
+        long tickNanos = 1_000_000_000L / GameEngine.TICKS_PER_SECOND;
+        long end = System.nanoTime() + nanos;
+        long nextInput = System.nanoTime();
+        while (System.nanoTime() - end < 0) {
+            long wait = Math.max(1, (nextInput - System.nanoTime()) / 1_000_000L);
+            selector.select(wait);
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                if (key.isValid() && key.isReadable()) ((Client) key.attachment()).read();
+            }
+            long now = System.nanoTime();
+            if (now - nextInput >= 0) {
+                for (Client client : clients) client.input();
+                nextInput += tickNanos;
+                if (now - nextInput >= tickNanos) nextInput = now + tickNanos;
+            }
+        }
+    }
+
+    public void clearStatistics() {
+        gaps.clear();
+        snapshots = 0;
+        bytesIn = 0;
+        presses = 0;
+        rounds = 0;
+    }
+
+    /** Disconnects every session. */
+    public void close() throws IOException {
+        for (Client client : clients) client.channel.close();
+        selector.close();
+    }
+
+    public String report(double seconds) {
+        return String.format(Locale.ROOT,
+                "clients: %d sessions (%d disconnected), %.0f snapshots/s (%.1f per session),"
+                        + " snapshot gap p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms;"
+                        + " %d presses, %d new rounds, %.1f KB/s in",
+                clients.size(), disconnected, snapshots / seconds, snapshots / seconds / Math.max(1, clients.size()),
+                gaps.quantile(0.50) / 1e6, gaps.quantile(0.99) / 1e6, gaps.quantile(0.999) / 1e6, gaps.getMax() / 1e6,
+                presses, rounds, bytesIn / 1e3 / seconds);
+    }
+
+    /**
+     * One simulated player.
+     */
+    private final class Client {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(1 << 16);
+        final ByteBuffer out = ByteBuffer.allocate(64);
+        SelectionKey key;
+        boolean welcomed;
+        boolean allOver;
+        boolean restarting; // ENTER sent, no fresh round seen yet
+        long lastSnapshot;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read() {
+            try {
+                int n = channel.read(in);
+                if (n < 0) {
+                    disconnect();
+                    return;
+                }
+                bytesIn += n;
+            } catch (IOException e) {
+                disconnect();
+                return;
+            }
+            in.flip();
+            int length;
+            while ((length = Protocol.frameLength(in)) >= 0) {
+                byte type = Protocol.frameType(in);
+                if (type == Protocol.WELCOME) {
+                    welcomed = true;
+                } else if (type == Protocol.SNAPSHOT) {
+                    long now = System.nanoTime();
+                    if (lastSnapshot != 0) gaps.record(now - lastSnapshot);
+                    lastSnapshot = now;
+                    snapshots++;
+                    allOver = (in.get(in.position() + Protocol.SNAPSHOT_HEADER_SIZE - 1)
+                            & Protocol.SNAPSHOT_ALL_OVER) != 0;
+                    if (!allOver) restarting = false;
+                }
+                in.position(in.position() + length);
+            }
+            in.compact();
+        }
+
+        /** Once per tick: maybe press a key. */
+        void input() {
+            if (!welcomed || !channel.isOpen()) return;
+            out.clear();
+            if (allOver) {
+                if (restarting) return;
+                Protocol.putKey(out, Protocol.KEY_ENTER);
+                restarting = true;
+                rounds++;
+            } else {
+                for (int w = 0; w < worlds; w++) {
+                    if (random.nextInt(MEAN_TICKS_PER_PRESS) == 0) {
+                        Protocol.putKey(out, w == 0 ? Protocol.KEY_SPACE : Protocol.KEY_UP);
+                        presses++;
+                    }
+                }
+            }
+            send();
+        }
+
+        void send() {
+            out.flip();
+            try {
+                // A few bytes per tick: if the socket can't take them the server is gone
+                channel.write(out);
+            } catch (IOException e) {
+                disconnect();
+            }
+        }
+
+        void disconnect() {
+            if (!channel.isOpen()) return;
+            disconnected++;
+            if (key != null) key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+}
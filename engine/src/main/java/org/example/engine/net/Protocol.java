@@ -0,0 +1,144 @@
+package org.example.engine.net;
+
+import org.example.engine.ColorChanger;
+import org.example.engine.GameEngine;
+import org.example.engine.PlayerBall;
+import org.example.engine.Ring;
+import org.example.engine.World;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Wire format between {@link GameServer} and its clients. Every message is
+ * a frame: unsigned 16-bit length of what follows, a type byte, then the
+ * payload (big-endian, the {@link ByteBuffer} default).
+ *
+ * <pre>
+ * client to server
+ *   JOIN      byte world count (1 or 2), long seed (0 = server picks)
+ *   KEY       int key code, as for Game.handleKeyPress: SPACE jumps world 0,
+ *             UP jumps world 1, ENTER starts a new round once every world is over
+ *
+ * server to client
+ *   WELCOME   long seed, byte world count, short ticks per second
+ *   SNAPSHOT  long engine tick, byte world count, byte flags (1 = every world over),
+ *             then per world:
+ *               int round, int score, byte ball color, byte flags (1 = started, 2 = over),
+ *               double camera Y, float ball Y, float ball velocity,
+ *               byte ring count, per ring: int index, float Y, float inner radius,
+ *                                         float outer radius, float angle
+ *               byte changer count, per changer: float Y, byte collected
+ * </pre>
+ * Positions in a snapshot are relative to that world's camera Y, so they fit
+ * a float however far the ball has climbed. A client that sends anything
+ * else, or a KEY before JOIN, is disconnected.
+ */
+public final class Protocol {
+    public static final byte JOIN = 1;
+    public static final byte KEY = 2;
+    public static final byte WELCOME = 3;
+    public static final byte SNAPSHOT = 4;
+
+    // Same values as the AWT and NEWT virtual key codes
+    public static final int KEY_ENTER = 10;
+    public static final int KEY_SPACE = 32;
+    public static final int KEY_UP = 38;
+
+    public static final int JOIN_SIZE = 2 + 1 + 1 + 8;
+    public static final int KEY_SIZE = 2 + 1 + 4;
+    public static final int WELCOME_SIZE = 2 + 1 + 8 + 1 + 2;
+    /** Snapshot bytes before the first world. */
+    public static final int SNAPSHOT_HEADER_SIZE = 2 + 1 + 8 + 1 + 1;
+
+    public static final int SNAPSHOT_ALL_OVER = 1;
+    public static final int WORLD_STARTED = 1;
+    public static final int WORLD_OVER = 2;
+
+    /** Entities per world sent in a snapshot; the rest are off screen anyway. */
+    static final int MAX_ENTITIES = 32;
+    private static final int WORLD_FIXED_SIZE = 4 + 4 + 1 + 1 + 8 + 4 + 4 + 1 + 1;
+    private static final int RING_SIZE = 4 + 4 * 4;
+    private static final int CHANGER_SIZE = 4 + 1;
+
+    private Protocol() {}
+
+    /** Largest snapshot for the given number of worlds, for sizing buffers. */
+    public static int maxSnapshotSize(int worlds) {
+        return SNAPSHOT_HEADER_SIZE + worlds * (WORLD_FIXED_SIZE + MAX_ENTITIES * (RING_SIZE + CHANGER_SIZE));
+    }
+
+    public static void putJoin(ByteBuffer out, int worlds, long seed) {
+        out.putShort((short) (JOIN_SIZE - 2)).put(JOIN).put((byte) worlds).putLong(seed);
+    }
+
+    public static void putKey(ByteBuffer out, int keyCode) {
+        out.putShort((short) (KEY_SIZE - 2)).put(KEY).putInt(keyCode);
+    }
+
+    public static void putWelcome(ByteBuffer out, long seed, int worlds, int ticksPerSecond) {
+        out.putShort((short) (WELCOME_SIZE - 2)).put(WELCOME).putLong(seed).put((byte) worlds)
+                .putShort((short) ticksPerSecond);
+    }
+
+    /**
+     * Appends a snapshot of every world; needs {@link #maxSnapshotSize} free bytes.
+     */
+    public static void putSnapshot(ByteBuffer out, GameEngine engine) {
+        int start = out.position();
+        out.putShort((short) 0); // length, filled in below
+        out.put(SNAPSHOT);
+        out.putLong(engine.getTick());
+        out.put((byte) engine.getWorldCount());
+        out.put((byte) (engine.isAllGameOver() ? SNAPSHOT_ALL_OVER : 0));
+        for (int w = 0; w < engine.getWorldCount(); w++) {
+            World world = engine.getWorld(w);
+            PlayerBall ball = world.getPlayer();
+            double cameraY = world.getCameraY();
+            out.putInt(world.getRound());
+            out.putInt(world.getScore());
+            out.put((byte) ball.getColorIndex());
+            out.put((byte) ((world.hasStarted() ? WORLD_STARTED : 0) | (world.isGameOver() ? WORLD_OVER : 0)));
+            out.putDouble(cameraY);
+            out.putFloat((float) (ball.getY() - cameraY));
+            out.putFloat(ball.getVelocityY());
+
+            List<Ring> rings = world.getRings();
+            int ringCount = Math.min(rings.size(), MAX_ENTITIES);
+            out.put((byte) ringCount);
+            for (int i = 0; i < ringCount; i++) {
+                Ring ring = rings.get(i);
+                out.putInt(ring.getIndex());
+                out.putFloat((float) (ring.getY() - cameraY));
+                out.putFloat(ring.getInnerRadius());
+                out.putFloat(ring.getOuterRadius());
+                out.putFloat(ring.getCurrentAngle());
+            }
+
+            List<ColorChanger> changers = world.getColorChangers();
+            int changerCount = Math.min(changers.size(), MAX_ENTITIES);
+            out.put((byte) changerCount);
+            for (int i = 0; i < changerCount; i++) {
+                ColorChanger changer = changers.get(i);
+                out.putFloat((float) (changer.getY() - cameraY));
+                out.put((byte) (changer.isCollected() ? 1 : 0));
+            }
+        }
+        out.putShort(start, (short) (out.position() - start - 2));
+    }
+
+    /**
+     * Length of the complete frame at the buffer's position, or -1 if it
+     * hasn't fully arrived. Reads without moving the position.
+     */
+    public static int frameLength(ByteBuffer in) {
+        if (in.remaining() < 3) return -1;
+        int length = 2 + (in.getShort(in.position()) & 0xFFFF);
+        return in.remaining() >= length ? length : -1;
+    }
+
+    /** Type of the frame at the buffer's position. */
+    public static byte frameType(ByteBuffer in) {
+        return in.get(in.position() + 2);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.engine.telemetry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Expands telemetry files written by {@link TelemetryWriter}, plain or
+ * gzipped, into one CSV with a header row. Files are read in the order
+ * given, so pass a session's rolled files in name order.
+ *
+ * Usage: TelemetryCsv out.csv|- telemetry-0000.cptl[.gz] [more ...]
+ */
+public class TelemetryCsv {
+    private static final String HEADER =
+            "tick,round,world,color,started,game_over,ball_y,velocity,ring,ring_angle,rotation_speed,ring_dy,score";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: TelemetryCsv out.csv|- telemetry-0000.cptl[.gz] [more ...]");
+            System.exit(2);
+        }
+        boolean toConsole = args[0].equals("-");
+        long rows = 0;
+        try (PrintStream out = toConsole ? new PrintStream(System.out, false, "UTF-8") : open(Paths.get(args[0]))) {
+            out.println(HEADER);
+            for (int i = 1; i < args.length; i++) {
+                rows += convert(Paths.get(args[i]), out);
+            }
+        }
+        if (!toConsole) System.out.println("wrote " + rows + " rows to " + args[0]);
+    }
+
+    private static PrintStream open(Path file) throws IOException {
+        return new PrintStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16), false, "UTF-8");
+    }
+
+    /**
+     * Appends one file's records as CSV rows, without a header.
+     *
+     * @return rows written
+     */
+    public static long convert(Path file, PrintStream out) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            raw.mark(2);
+            boolean gzip = raw.read() == 0x1f && raw.read() == 0x8b;
+            raw.reset();
+            DataInputStream in = new DataInputStream(gzip ? new GZIPInputStream(raw, 1 << 16) : raw);
+
+            ByteBuffer header = ByteBuffer.allocate(TelemetryWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                in.readFully(header.array());
+            } catch (EOFException e) {
+                throw new IOException("Not a telemetry file: " + file);
+            }
+            if (header.getInt(0) != TelemetryWriter.MAGIC) {
+                throw new IOException("Not a telemetry file: " + file);
+            }
+            if (header.getInt(4) != TelemetryWriter.VERSION || header.getInt(8) != TelemetryWriter.RECORD_SIZE) {
+                throw new IOException("Unsupported telemetry version " + header.getInt(4) + " in " + file);
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(TelemetryWriter.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] bytes = record.array();
+            long rows = 0;
+            while (readRecord(in, bytes)) {
+                int flags = record.get(TelemetryWriter.FLAGS);
+                out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%.5f,%.5f,%d,%.3f,%.4f,%.4f,%d%n",
+                        record.getLong(TelemetryWriter.TICK),
+                        record.getInt(TelemetryWriter.ROUND),
+                        record.get(TelemetryWriter.WORLD),
+                        record.get(TelemetryWriter.COLOR),
+                        (flags & TelemetryWriter.FLAG_STARTED) != 0 ? 1 : 0,
+                        (flags & TelemetryWriter.FLAG_GAME_OVER) != 0 ? 1 : 0,
+                        record.getDouble(TelemetryWriter.BALL_Y),
+                        record.getFloat(TelemetryWriter.VELOCITY),
+                        record.getInt(TelemetryWriter.RING_INDEX),
+                        record.getFloat(TelemetryWriter.RING_ANGLE),
+                        record.getFloat(TelemetryWriter.ROTATION_SPEED),
+                        record.getFloat(TelemetryWriter.RING_DY),
+                        record.getInt(TelemetryWriter.SCORE));
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    /** Fills the record; false at a clean end of file, or a truncated last record. */
+    private static boolean readRecord(DataInputStream in, byte[] record) throws IOException {
+        int read = 0;
+        while (read < record.length) {
+            int n = in.read(record, read, record.length - read);
+            if (n < 0) {
+                if (read > 0) System.err.println("Ignoring a truncated last record");
+                return false;
+            }
+            read += n;
+        }
+        return true;
+    }
+}
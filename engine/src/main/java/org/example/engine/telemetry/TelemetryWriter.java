@@ -0,0 +1,354 @@
+package org.example.engine.telemetry;
+
+import org.example.engine.GameEngine;
+import org.example.engine.PlayerBall;
+import org.example.engine.Ring;
+import org.example.engine.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streams one fixed-width record per world per tick to rolling telemetry
+ * files, for tuning.
+ *
+ * The simulation thread fills a ring of preallocated direct buffers and a
+ * background thread writes full ones out through a {@link FileChannel}, so
+ * {@link #record(GameEngine)} never allocates, locks or waits on the disk.
+ * If the writer falls so far behind that every buffer is still waiting to
+ * be written, records are dropped and counted instead.
+ *
+ * Files are named {@code prefix-NNNN.cptl}, or {@code .cptl.gz} when
+ * compressed (plain gzip, so {@code zcat} works too), and a new one is
+ * started once the current one holds the roll size of uncompressed records.
+ * {@link TelemetryCsv} expands them for offline analysis.
+ *
+ * File layout (little-endian, before compression): a {@value #HEADER_SIZE}-byte
+ * header (magic "CPTL", version, record size, reserved) followed by
+ * {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *   0  long   engine tick
+ *   8  int    round
+ *  12  byte   world
+ *  13  byte   ball color
+ *  14  byte   flags: 1 = started, 2 = game over
+ *  15  byte   reserved
+ *  16  double ball Y
+ *  24  float  ball vertical velocity (units per tick)
+ *  28  int    index of the ring nearest the ball, -1 if none
+ *  32  float  that ring's angle (degrees)
+ *  36  float  that ring's rotation speed (degrees per tick, signed)
+ *  40  float  that ring's Y minus the ball's Y
+ *  44  int    score
+ * </pre>
+ */
+public class TelemetryWriter implements AutoCloseable {
+    public static final int MAGIC = 0x4C545043; // "CPTL"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 48;
+
+    static final int TICK = 0;
+    static final int ROUND = 8;
+    static final int WORLD = 12;
+    static final int COLOR = 13;
+    static final int FLAGS = 14;
+    static final int BALL_Y = 16;
+    static final int VELOCITY = 24;
+    static final int RING_INDEX = 28;
+    static final int RING_ANGLE = 32;
+    static final int ROTATION_SPEED = 36;
+    static final int RING_DY = 40;
+    static final int SCORE = 44;
+
+    static final int FLAG_STARTED = 1;
+    static final int FLAG_GAME_OVER = 2;
+
+    private static final int RECORDS_PER_BUFFER = 2048; // 96 KB
+    private static final int BUFFERS = 8;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final ByteBuffer NO_INPUT = ByteBuffer.allocate(0);
+
+    private final Path dir;
+    private final String prefix;
+    private final long rollBytes;
+    private final boolean compress;
+
+    // Filled round-robin by the simulation thread, written in the same order
+    private final ByteBuffer[] buffers = new ByteBuffer[BUFFERS];
+    private final AtomicLong filled = new AtomicLong(); // buffers handed to the writer
+    private final AtomicLong written = new AtomicLong(); // buffers the writer is done with
+    private ByteBuffer current; // simulation thread only; null while every buffer is queued
+    private long records;
+    private long dropped;
+
+    private final Thread thread;
+    private volatile boolean closing;
+    private volatile IOException failure;
+
+    // Writer thread only
+    private FileChannel channel;
+    private int files;
+    private long fileBytes; // uncompressed record bytes in the current file
+    private long bytesWritten; // to disk, across files
+    private final ByteBuffer header = ByteBuffer.allocateDirect(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer compressed;
+
+    /**
+     * Starts the writer thread; the first file is created on the first write.
+     *
+     * @param dir directory for the files, created if missing
+     * @param prefix file name prefix
+     * @param rollBytes uncompressed record bytes per file before starting the next
+     * @param compress gzip each file
+     */
+    public TelemetryWriter(Path dir, String prefix, long rollBytes, boolean compress) throws IOException {
+        if (rollBytes < RECORD_SIZE) {
+            throw new IllegalArgumentException("rollBytes must hold at least one record: " + rollBytes);
+        }
+        this.dir = Files.createDirectories(dir);
+        this.prefix = prefix;
+        this.rollBytes = rollBytes;
+        this.compress = compress;
+        for (int i = 0; i < BUFFERS; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(RECORD_SIZE * RECORDS_PER_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        current = buffers[0];
+        if (compress) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            compressed = ByteBuffer.allocateDirect(1 << 16);
+        }
+        thread = new Thread(this::run, "telemetry-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Records every world of the engine at its current tick. Call from the
+     * thread that steps the engine, after each step.
+     */
+    public void record(GameEngine engine) {
+        long tick = engine.getTick();
+        for (int i = 0; i < engine.getWorldCount(); i++) {
+            record(engine.getWorld(i), tick);
+        }
+    }
+
+    /**
+     * Records one world. Calls must not overlap.
+     */
+    public void record(World world, long tick) {
+        ByteBuffer buffer = current;
+        if (buffer == null && (buffer = nextBuffer()) == null) {
+            dropped++;
+            return;
+        }
+
+        PlayerBall ball = world.getPlayer();
+        double ballY = ball.getY();
+        Ring nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        List<Ring> rings = world.getRings();
+        for (int i = 0; i < rings.size(); i++) {
+            Ring ring = rings.get(i);
+            double distance = Math.abs(ring.getY() - ballY);
+            if (distance < nearestDistance) {
+                nearest = ring;
+                nearestDistance = distance;
+            }
+        }
+
+        int base = buffer.position();
+        buffer.putLong(base + TICK, tick);
+        buffer.putInt(base + ROUND, world.getRound());
+        buffer.put(base + WORLD, (byte) world.getIndex());
+        buffer.put(base + COLOR, (byte) ball.getColorIndex());
+        buffer.put(base + FLAGS, (byte) ((world.hasStarted() ? FLAG_STARTED : 0)
+                | (world.isGameOver() ? FLAG_GAME_OVER : 0)));
+        buffer.put(base + 15, (byte) 0);
+        buffer.putDouble(base + BALL_Y, ballY);
+        buffer.putFloat(base + VELOCITY, ball.getVelocityY());
+        buffer.putInt(base + RING_INDEX, nearest != null ? nearest.getIndex() : -1);
+        buffer.putFloat(base + RING_ANGLE, nearest != null ? nearest.getCurrentAngle() : 0);
+        buffer.putFloat(base + ROTATION_SPEED, nearest != null ? nearest.getRotationSpeed() : 0);
+        buffer.putFloat(base + RING_DY, nearest != null ? (float) (nearest.getY() - ballY) : 0);
+        buffer.putInt(base + SCORE, world.getScore());
+        buffer.position(base + RECORD_SIZE);
+        records++;
+
+        if (!buffer.hasRemaining()) handOff();
+    }
+
+    /** Queues the current buffer for the writer and moves on to the next one, if free. */
+    private void handOff() {
+        long n = filled.get() + 1;
+        filled.set(n);
+        LockSupport.unpark(thread);
+        current = null;
+        nextBuffer();
+    }
+
+    private ByteBuffer nextBuffer() {
+        long n = filled.get();
+        if (n - written.get() >= BUFFERS || failure != null) return null; // writer behind or dead
+        current = buffers[(int) (n % BUFFERS)];
+        current.clear();
+        return current;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                boolean last = closing;
+                long n = written.get();
+                if (n < filled.get()) {
+                    write(buffers[(int) (n % BUFFERS)]);
+                    written.set(n + 1);
+                } else if (last) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            finishFile();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            if (channel == null) startFile();
+            // Split at the roll size, on a record boundary
+            int records = (int) Math.min(buffer.remaining() / RECORD_SIZE,
+                    Math.max(1, (rollBytes - fileBytes) / RECORD_SIZE));
+            int end = buffer.position() + records * RECORD_SIZE;
+            int limit = buffer.limit();
+            buffer.limit(end);
+            writeRecords(buffer);
+            buffer.limit(limit);
+            fileBytes += records * RECORD_SIZE;
+            if (fileBytes >= rollBytes) finishFile();
+        }
+    }
+
+    private void startFile() throws IOException {
+        String name = String.format("%s-%04d.cptl%s", prefix, files++, compress ? ".gz" : "");
+        channel = FileChannel.open(dir.resolve(name), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        fileBytes = 0;
+        if (compress) {
+            deflater.reset();
+            crc.reset();
+            // Minimal gzip member header: deflate, no name, unknown OS
+            ByteBuffer gzip = compressed;
+            gzip.clear();
+            gzip.put(new byte[] {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff}).flip();
+            writeFully(gzip);
+        }
+        header.clear();
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+        writeRecords(header);
+    }
+
+    /** Writes the buffer's remaining bytes to the current file, compressing if enabled. */
+    private void writeRecords(ByteBuffer data) throws IOException {
+        if (!compress) {
+            writeFully(data);
+            return;
+        }
+        int start = data.position();
+        crc.update(data);
+        data.position(start);
+        deflater.setInput(data); // consumed as it is deflated
+        while (!deflater.needsInput()) deflate(Deflater.NO_FLUSH);
+        // Let go of the buffer: the deflater would see anything past its current limit later
+        deflater.setInput(NO_INPUT);
+    }
+
+    private void deflate(int flush) throws IOException {
+        compressed.clear();
+        deflater.deflate(compressed, flush);
+        compressed.flip();
+        writeFully(compressed);
+    }
+
+    private void finishFile() throws IOException {
+        if (channel == null) return;
+        try {
+            if (compress) {
+                deflater.finish();
+                while (!deflater.finished()) deflate(Deflater.NO_FLUSH);
+                ByteBuffer trailer = compressed;
+                trailer.clear();
+                trailer.order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt((int) crc.getValue())
+                        .putInt((int) (fileBytes + HEADER_SIZE))
+                        .flip();
+                writeFully(trailer);
+            }
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        bytesWritten += data.remaining();
+        while (data.hasRemaining()) channel.write(data);
+    }
+
+    /** Records buffered so far, not counting dropped ones. */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /** Records dropped because the writer was behind. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Writes what is buffered, closes the last file and stops the writer.
+     * Call from the recording thread; nothing recorded afterwards is written.
+     *
+     * @throws IOException if the writer failed at any point
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closing) {
+            if (current != null && current.position() > 0) {
+                filled.set(filled.get() + 1);
+            }
+            current = null;
+            closing = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /** Summary line: records, drops, files and bytes on disk. */
+    @Override
+    public String toString() {
+        return String.format("Telemetry: %d records (%d dropped) in %d files, %.1f MB on disk",
+                records, dropped, files, bytesWritten / 1e6);
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.engine.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Streams trace files written by {@link TraceWriter} into a {@link TraceSketch}.
+ *
+ * Files are memory-mapped a window at a time and records are read in place
+ * with absolute gets, so no per-run objects are created and corpora much
+ * larger than the heap only cost page cache. Each window is split across a
+ * ForkJoinPool, every task filling its own sketch, and the sketches are
+ * merged at the end.
+ *
+ * Usage: TraceAnalyzer trace.cptr [more.cptr ...]
+ */
+public class TraceAnalyzer {
+    // Mapping window: whole records, well under the 2 GB limit of a single mapping
+    private static final long WINDOW_RECORDS = (1L << 30) / TraceWriter.RECORD_SIZE;
+    private static final int LEAF_RECORDS = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    public TraceAnalyzer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: TraceAnalyzer trace.cptr [more.cptr ...]");
+            System.exit(2);
+        }
+        TraceAnalyzer analyzer = new TraceAnalyzer(ForkJoinPool.commonPool());
+        TraceSketch total = new TraceSketch();
+        long start = System.nanoTime();
+        for (String arg : args) {
+            total.merge(analyzer.analyze(Paths.get(arg)));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("# analyzed %d runs from %d files in %.2fs (%.0f runs/s)%n",
+                total.getRuns(), args.length, seconds, total.getRuns() / seconds);
+        total.printReport(System.out);
+    }
+
+    public TraceSketch analyze(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != TraceWriter.MAGIC) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            if (header.getInt(4) != TraceWriter.VERSION || header.getInt(8) != TraceWriter.RECORD_SIZE) {
+                throw new IOException("Unsupported trace version/record size: " + file);
+            }
+
+            long records = (channel.size() - TraceWriter.HEADER_SIZE) / TraceWriter.RECORD_SIZE;
+            TraceSketch sketch = new TraceSketch();
+            for (long first = 0; first < records; first += WINDOW_RECORDS) {
+                int count = (int) Math.min(WINDOW_RECORDS, records - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TraceWriter.HEADER_SIZE + first * TraceWriter.RECORD_SIZE,
+                        (long) count * TraceWriter.RECORD_SIZE);
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                sketch.merge(pool.invoke(new SketchTask(window, 0, count)));
+            }
+            return sketch;
+        }
+    }
+
+    private static class SketchTask extends RecursiveTask<TraceSketch> {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer window;
+        private final int from, to;
+
+        SketchTask(ByteBuffer window, int from, int to) {
+            this.window = window;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TraceSketch compute() {
+            if (to - from <= LEAF_RECORDS) {
+                // Absolute reads only: the shared buffer's position is never touched
+                TraceSketch sketch = new TraceSketch();
+                for (int i = from; i < to; i++) {
+                    sketch.add(window, i * TraceWriter.RECORD_SIZE);
+                }
+                return sketch;
+            }
+            int mid = (from + to) >>> 1;
+            SketchTask left = new SketchTask(window, from, mid);
+            left.fork();
+            TraceSketch right = new SketchTask(window, mid, to).compute();
+            TraceSketch merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
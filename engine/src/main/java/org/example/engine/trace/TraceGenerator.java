@@ -0,0 +1,70 @@
+package org.example.engine.trace;
+
+import org.example.engine.GameEngine;
+import org.example.engine.InputPolicy;
+import org.example.engine.RandomInputPolicy;
+import org.example.engine.World;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays seeded headless runs with a random jumper and writes their traces,
+ * one file per thread, to build a corpus for {@link TraceAnalyzer}.
+ *
+ * Usage: TraceGenerator outDir runs [threads] [seed]
+ */
+public class TraceGenerator {
+    private static final int MAX_TICKS = 60 * 60 * 10; // stop runs that survive ten minutes; written as capped
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: TraceGenerator outDir runs [threads] [seed]");
+            System.exit(2);
+        }
+        Path outDir = Files.createDirectories(Paths.get(args[0]));
+        long runs = Long.parseLong(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        InputPolicy policy = new RandomInputPolicy(1.0 / 12, seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            long share = runs / threads + (t < runs % threads ? 1 : 0);
+            results.add(executor.submit(() -> generate(outDir.resolve("trace-" + thread + ".cptr"),
+                    GameEngine.worldSeed(seed, thread), share, policy)));
+        }
+        long written = 0;
+        for (Future<Long> f : results) written += f.get();
+        executor.shutdown();
+        System.out.printf("wrote %d runs to %s in %.2fs%n", written, outDir, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static long generate(Path file, long seed, long runs, InputPolicy policy) {
+        try (TraceWriter writer = new TraceWriter(file)) {
+            World world = new World(0, seed);
+            for (long r = 0; r < runs; r++) {
+                world.reset();
+                while (!world.isGameOver() && world.getTick() < MAX_TICKS) {
+                    if (policy.shouldJump(world, world.getTick())) world.jump();
+                    world.step();
+                }
+                writer.write(world, GameEngine.worldSeed(seed, world.getRound()));
+            }
+            return writer.getRecordCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.engine.trace;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size summaries of a trace corpus. Memory use does not depend on how
+ * many runs are added, and two sketches built from disjoint parts of a corpus
+ * can be merged, so analysis can be split across threads and files.
+ *
+ * <ul>
+ *   <li>death heatmap: collisions by ball angle in the ring frame x ball color</li>
+ *   <li>score histogram: exact below {@value #EXACT_SCORES}, power-of-two buckets above,
+ *       for quantiles</li>
+ *   <li>difficulty: deaths and runs reaching each ring index (hazard curve), and
+ *       deaths by ring outer radius x rotation speed</li>
+ * </ul>
+ */
+public class TraceSketch {
+    static final int ANGLE_BINS = 72; // 5 degrees each
+    static final int COLORS = 4;
+    static final int EXACT_SCORES = 1024;
+    static final int LOG_BUCKETS = 22; // scores up to 2^31
+    static final int MAX_RING_INDEX = 1024; // deeper rings share the last bin
+    static final int RADIUS_BINS = 40; // 0.25 units each, radius 0..10
+    static final float RADIUS_BIN_WIDTH = 0.25f;
+    static final int SPEED_BINS = 32; // 0.125 deg/tick each, |speed| 0..4
+    static final float SPEED_BIN_WIDTH = 0.125f;
+
+    private final long[] angleColorDeaths = new long[ANGLE_BINS * COLORS];
+    private final long[] scoreCounts = new long[EXACT_SCORES + LOG_BUCKETS];
+    private final long[] deathsAtRing = new long[MAX_RING_INDEX];
+    private final long[] radiusSpeedDeaths = new long[RADIUS_BINS * SPEED_BINS];
+    private long runs;
+    private long falls;
+    private long capped; // stopped alive at the tick cap: no death to count
+    private long tickTotal;
+    private int maxScore;
+
+    /**
+     * Adds one record, read straight from the (mapped) buffer.
+     *
+     * @param offset absolute byte offset of the record in {@code buf}
+     */
+    public void add(ByteBuffer buf, int offset) {
+        runs++;
+        tickTotal += buf.getInt(offset + TraceWriter.DEATH_TICK);
+
+        int score = buf.getInt(offset + TraceWriter.SCORE);
+        scoreCounts[scoreBucket(score)]++;
+        if (score > maxScore) maxScore = score;
+
+        if (buf.get(offset + TraceWriter.OUTCOME) == TraceWriter.OUTCOME_CAPPED) {
+            capped++;
+            return;
+        }
+
+        int ringIndex = buf.getInt(offset + TraceWriter.RING_INDEX);
+        if (ringIndex >= 0) {
+            deathsAtRing[Math.min(ringIndex, MAX_RING_INDEX - 1)]++;
+
+            float outer = buf.getFloat(offset + TraceWriter.OUTER_RADIUS);
+            float speed = Math.abs(buf.getFloat(offset + TraceWriter.ROTATION_SPEED));
+            radiusSpeedDeaths[bin(outer, RADIUS_BIN_WIDTH, RADIUS_BINS) * SPEED_BINS
+                    + bin(speed, SPEED_BIN_WIDTH, SPEED_BINS)]++;
+        }
+
+        int segment = buf.get(offset + TraceWriter.SEGMENT);
+        if (segment < 0) {
+            falls++;
+        } else {
+            int color = buf.get(offset + TraceWriter.BALL_COLOR) & (COLORS - 1);
+            float angle = buf.getFloat(offset + TraceWriter.ANGLE);
+            angleColorDeaths[bin(angle, 360f / ANGLE_BINS, ANGLE_BINS) * COLORS + color]++;
+        }
+    }
+
+    public void merge(TraceSketch other) {
+        addAll(angleColorDeaths, other.angleColorDeaths);
+        addAll(scoreCounts, other.scoreCounts);
+        addAll(deathsAtRing, other.deathsAtRing);
+        addAll(radiusSpeedDeaths, other.radiusSpeedDeaths);
+        runs += other.runs;
+        falls += other.falls;
+        capped += other.capped;
+        tickTotal += other.tickTotal;
+        maxScore = Math.max(maxScore, other.maxScore);
+    }
+
+    /**
+     * @param q quantile in [0, 1]
+     * @return the score at that quantile; exact below {@value #EXACT_SCORES},
+     *         the bucket's lower bound above
+     */
+    public int scoreQuantile(double q) {
+        if (runs == 0) return 0;
+        long rank = (long) Math.ceil(q * runs);
+        long seen = 0;
+        for (int b = 0; b < scoreCounts.length; b++) {
+            seen += scoreCounts[b];
+            if (seen >= rank && scoreCounts[b] > 0) return bucketLowerBound(b);
+        }
+        return maxScore;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public void printReport(PrintStream out) {
+        out.printf("runs=%d falls=%d collisions=%d capped=%d meanTicks=%.1f maxScore=%d%n",
+                runs, falls, runs - falls - capped, capped, runs == 0 ? 0.0 : (double) tickTotal / runs, maxScore);
+
+        out.println();
+        out.println("# score quantiles");
+        out.println("quantile,score");
+        for (double q : new double[] {0.5, 0.9, 0.99, 0.999, 1.0}) {
+            out.printf("%s,%d%n", q, scoreQuantile(q));
+        }
+
+        out.println();
+        out.println("# death heatmap: collisions by angle in ring frame and ball color");
+        out.println("angleFrom,cyan,yellow,magenta,purple");
+        for (int a = 0; a < ANGLE_BINS; a++) {
+            out.printf("%d", a * 360 / ANGLE_BINS);
+            for (int c = 0; c < COLORS; c++) out.printf(",%d", angleColorDeaths[a * COLORS + c]);
+            out.println();
+        }
+
+        out.println();
+        out.println("# difficulty curve: hazard = deaths at ring / runs reaching ring");
+        out.println("ringIndex,reached,deaths,hazard");
+        long reached = sum(deathsAtRing); // runs with a known death ring
+        for (int i = 0; i < MAX_RING_INDEX && reached > 0; i++) {
+            out.printf("%d,%d,%d,%.4f%n", i, reached, deathsAtRing[i], (double) deathsAtRing[i] / reached);
+            reached -= deathsAtRing[i];
+        }
+
+        out.println();
+        out.println("# deaths by ring outer radius and |rotation speed| (non-empty cells)");
+        out.println("radiusFrom,speedFrom,deaths");
+        for (int r = 0; r < RADIUS_BINS; r++) {
+            for (int s = 0; s < SPEED_BINS; s++) {
+                long d = radiusSpeedDeaths[r * SPEED_BINS + s];
+                if (d > 0) out.printf("%.2f,%.3f,%d%n", r * RADIUS_BIN_WIDTH, s * SPEED_BIN_WIDTH, d);
+            }
+        }
+    }
+
+    private static int scoreBucket(int score) {
+        if (score < EXACT_SCORES) return Math.max(score, 0);
+        // 1024..2047 -> first log bucket, 2048..4095 -> second, ...
+        int log = 31 - Integer.numberOfLeadingZeros(score);
+        return EXACT_SCORES + Math.min(log - 10, LOG_BUCKETS - 1);
+    }
+
+    private static int bucketLowerBound(int bucket) {
+        return bucket < EXACT_SCORES ? bucket : EXACT_SCORES << (bucket - EXACT_SCORES);
+    }
+
+    private static int bin(float value, float width, int bins) {
+        int b = (int) (value / width);
+        return b < 0 ? 0 : Math.min(b, bins - 1);
+    }
+
+    private static void addAll(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) into[i] += from[i];
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) total += v;
+        return total;
+    }
+}
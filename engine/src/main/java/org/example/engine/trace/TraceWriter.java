@@ -0,0 +1,113 @@
+package org.example.engine.trace;
+
+import org.example.engine.Ring;
+import org.example.engine.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends one fixed-width record per finished run to a trace file.
+ * Not thread-safe: give each producer thread its own writer and file.
+ *
+ * File layout (little-endian): a {@value #HEADER_SIZE}-byte header
+ * (magic "CPTR", version, record size) followed by {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *   0  long   round seed (identifies the run)
+ *   8  int    death tick
+ *  12  int    score
+ *  16  int    index of the ring that ended the run
+ *  20  byte   ball color
+ *  21  byte   segment hit, -1 if the ball fell out or the run was capped
+ *  22  byte   outcome: 0 = died, 1 = still alive when the run was capped
+ *  23  byte   reserved
+ *  24  float  ball angle in the ring's frame at the hit (degrees)
+ *  28  float  ring outer radius
+ *  32  float  ring inner radius
+ *  36  float  ring rotation speed (degrees per tick, signed)
+ * </pre>
+ */
+public class TraceWriter implements AutoCloseable {
+    public static final int MAGIC = 0x43505452; // "CPTR"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 40;
+
+    static final int SEED = 0;
+    static final int DEATH_TICK = 8;
+    static final int SCORE = 12;
+    static final int RING_INDEX = 16;
+    static final int BALL_COLOR = 20;
+    static final int SEGMENT = 21;
+    static final int OUTCOME = 22;
+    static final int ANGLE = 24;
+    static final int OUTER_RADIUS = 28;
+    static final int INNER_RADIUS = 32;
+    static final int ROTATION_SPEED = 36;
+
+    public static final byte OUTCOME_DIED = 0;
+    public static final byte OUTCOME_CAPPED = 1;
+
+    private static final int RECORDS_PER_FLUSH = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * RECORDS_PER_FLUSH)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private long records;
+
+    public TraceWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+        while (header.hasRemaining()) channel.write(header);
+    }
+
+    /**
+     * Records a world whose round has ended, or that was stopped while
+     * still alive (written as {@link #OUTCOME_CAPPED}).
+     */
+    public void write(World world, long roundSeed) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) flush();
+
+        Ring ring = world.getDeathRing();
+        int base = buffer.position();
+        buffer.putLong(base + SEED, roundSeed);
+        buffer.putInt(base + DEATH_TICK, (int) world.getTick());
+        buffer.putInt(base + SCORE, world.getScore());
+        buffer.putInt(base + RING_INDEX, ring != null ? ring.getIndex() : -1);
+        buffer.put(base + BALL_COLOR, (byte) world.getPlayer().getColorIndex());
+        buffer.put(base + SEGMENT, (byte) world.getDeathSegment());
+        buffer.put(base + OUTCOME, world.isGameOver() ? OUTCOME_DIED : OUTCOME_CAPPED);
+        buffer.put(base + 23, (byte) 0);
+        buffer.putFloat(base + ANGLE, world.getDeathAngle());
+        buffer.putFloat(base + OUTER_RADIUS, ring != null ? ring.getOuterRadius() : 0);
+        buffer.putFloat(base + INNER_RADIUS, ring != null ? ring.getInnerRadius() : 0);
+        buffer.putFloat(base + ROTATION_SPEED, ring != null ? ring.getRotationSpeed() : 0);
+        buffer.position(base + RECORD_SIZE);
+        records++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
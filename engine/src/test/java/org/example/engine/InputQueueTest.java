@@ -0,0 +1,66 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputQueueTest {
+
+    @Test
+    void drainsInOrderUpToTheDeadline() {
+        InputQueue queue = new InputQueue(8);
+        for (int i = 0; i < 5; i++) assertTrue(queue.offer(i, 100 + i * 10));
+
+        List<Integer> keys = new ArrayList<>();
+        assertEquals(3, queue.drain(125, (key, nanos) -> keys.add(key)));
+        assertEquals(List.of(0, 1, 2), keys);
+        assertEquals(2, queue.drain(Long.MAX_VALUE, (key, nanos) -> keys.add(key)));
+        assertEquals(List.of(0, 1, 2, 3, 4), keys);
+    }
+
+    @Test
+    void dropsWhenFullAndReusesSlots() {
+        InputQueue queue = new InputQueue(3); // rounded up to 4
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) assertTrue(queue.offer(i, i));
+        assertFalse(queue.offer(4, 4));
+        assertEquals(1, queue.getDropped());
+
+        queue.clear();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) assertTrue(queue.offer(i, i));
+            assertEquals(4, queue.drain(Long.MAX_VALUE, (key, nanos) -> { }));
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        InputQueue queue = new InputQueue(64);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int key = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(key, i)) Thread.yield();
+                }
+            });
+            threads[p].start();
+        }
+
+        long[] next = new long[producers]; // each producer's presses arrive in its own order
+        int received = 0;
+        while (received < producers * perProducer) {
+            received += queue.drain(Long.MAX_VALUE, (key, nanos) -> assertEquals(next[key]++, nanos));
+            Thread.yield();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(0, queue.drain(Long.MAX_VALUE, (key, nanos) -> { }));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 16; i++) histogram.record(i);
+        assertEquals(7, histogram.quantile(0.5));
+        assertEquals(15, histogram.quantile(1.0));
+    }
+
+    @Test
+    void quantilesAreWithinOneBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1_000; nanos <= 1_000_000; nanos += 1_000) histogram.record(nanos);
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            long exact = (long) Math.ceil(q * 1000) * 1000;
+            long reported = histogram.quantile(q);
+            assertTrue(reported >= exact && reported <= exact + exact / 16,
+                    q + ": " + reported + " vs " + exact);
+        }
+        assertEquals(1_000_000, histogram.quantile(1.0));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    void mergeAddsSamples() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) a.record(1_000);
+        for (int i = 0; i < 100; i++) b.record(1_000_000);
+        a.merge(b);
+        assertEquals(200, a.getCount());
+        assertEquals(1_000_000, a.getMax());
+        assertTrue(a.quantile(0.25) < 1_100);
+        assertTrue(a.quantile(0.75) > 900_000);
+    }
+
+    @Test
+    void hugeValuesShareTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5); // clamped to 0
+        assertEquals(0, histogram.quantile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.quantile(1.0));
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelWorldsTest {
+
+    @Test
+    void resultDoesNotDependOnThreadCount() {
+        long[] single = run(1);
+        long[] parallel = run(4);
+        assertEquals(single[0], parallel[0], "state hash");
+        assertEquals(single[1], parallel[1], "games completed");
+        assertEquals(single[2], parallel[2], "score total");
+        assertTrue(single[1] > 0, "some games should finish");
+    }
+
+    private static long[] run(int threads) {
+        try (ParallelWorlds worlds = new ParallelWorlds(64, 42, threads)) {
+            worlds.setAutoReset(true);
+            InputPolicy policy = new RandomInputPolicy(0.08, 7);
+            for (int i = 0; i < 10; i++) worlds.step(120, policy);
+            return new long[] {worlds.stateHash(), worlds.getGamesCompleted(), worlds.getScoreTotal()};
+        }
+    }
+}
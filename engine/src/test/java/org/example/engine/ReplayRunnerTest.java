@@ -0,0 +1,58 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayRunnerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayReachesTheRecordedState() throws IOException {
+        GameEngine engine = new GameEngine(2, 1234);
+        Path file = dir.resolve("session.cpir");
+        engine.startRecording(new InputRecorder(file));
+        play(engine, new Random(1), 5000);
+        long hash = engine.stateHash();
+        engine.stopRecording();
+
+        ReplayRunner.Result result = ReplayRunner.replay(file);
+        assertTrue(result.matches());
+        assertEquals(hash, result.actualHash);
+        assertEquals(5000, result.ticks);
+        assertArrayEquals(new int[] {engine.getScore(0), engine.getScore(1)}, result.actualScores);
+    }
+
+    @Test
+    void recordingStartedMidRoundStillReplays() throws IOException {
+        GameEngine engine = new GameEngine(2, 99);
+        for (int t = 0; t < 50; t++) engine.step(); // rings turning, ball waiting
+
+        Path file = dir.resolve("late.cpir");
+        engine.startRecording(new InputRecorder(file));
+        engine.jump(0);
+        for (int t = 0; t < 30; t++) engine.step();
+        engine.stopRecording();
+
+        assertTrue(ReplayRunner.replay(file).matches());
+    }
+
+    /** Random presses on both worlds, a new round whenever both are over. */
+    private static void play(GameEngine engine, Random random, int ticks) {
+        for (int t = 0; t < ticks; t++) {
+            for (int w = 0; w < engine.getWorldCount(); w++) {
+                if (random.nextInt(12) == 0) engine.jump(w);
+            }
+            engine.step();
+            if (engine.isAllGameOver()) engine.reset();
+        }
+    }
+}
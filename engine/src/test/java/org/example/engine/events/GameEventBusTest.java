@@ -0,0 +1,76 @@
+package org.example.engine.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventBusTest {
+
+    @Test
+    void everySubscriberSeesEveryEventInOrder() {
+        GameEventBus bus = new GameEventBus(1024);
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        bus.subscribe("first", e -> first.add(e.getScore()));
+        bus.subscribe("second", e -> second.add(e.getScore()));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            bus.scorePassed(0, 1, i, i, i, 2);
+            expected.add(i);
+        }
+        bus.close(); // delivers what was published before returning
+
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        assertEquals(500, bus.getPublished());
+    }
+
+    @Test
+    void laggingSubscriberCountsWhatItMissed() throws InterruptedException {
+        GameEventBus bus = new GameEventBus(16);
+        CountDownLatch release = new CountDownLatch(1);
+        long[] delivered = new long[1];
+        long[] lastSequence = {-1};
+        boolean[] ordered = {true};
+        GameEventBus.Subscription slow = bus.subscribe("slow", e -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (e.getSequence() <= lastSequence[0]) ordered[0] = false;
+            lastSequence[0] = e.getSequence();
+            delivered[0]++;
+        });
+
+        bus.scorePassed(0, 0, 0, 0, 0, 0);
+        TimeUnit.MILLISECONDS.sleep(50); // the subscriber is now stuck on the first event
+        for (int i = 1; i < 1000; i++) bus.scorePassed(0, 0, i, i, i, 0);
+        release.countDown();
+        slow.close();
+
+        assertTrue(ordered[0]);
+        assertTrue(slow.getMissed() > 0);
+        assertEquals(bus.getPublished(), delivered[0] + slow.getMissed());
+        bus.close();
+    }
+
+    @Test
+    void closedSubscriptionStopsReceiving() {
+        GameEventBus bus = new GameEventBus(64);
+        List<Long> seen = new ArrayList<>();
+        GameEventBus.Subscription subscription = bus.subscribe("log", e -> seen.add(e.getTick()));
+        bus.gameOver(0, 0, 7, -1, -1, 0, 3);
+        subscription.close();
+        bus.gameOver(0, 0, 8, -1, -1, 0, 3);
+        bus.close();
+        assertEquals(List.of(7L), seen);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.engine.telemetry;
+
+import org.example.engine.GameEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelemetryCsvTest {
+    private static final int TICKS = 3000;
+    private static final int RECORDS_PER_FILE = 1000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void plainFilesRoundTrip() throws IOException {
+        roundTrip(false);
+    }
+
+    @Test
+    void gzipFilesRoundTrip() throws IOException {
+        roundTrip(true);
+    }
+
+    private void roundTrip(boolean compress) throws IOException {
+        GameEngine engine = new GameEngine(2, 77);
+        TelemetryWriter writer = new TelemetryWriter(dir, "t", (long) RECORDS_PER_FILE * TelemetryWriter.RECORD_SIZE,
+                compress);
+        for (int t = 0; t < TICKS; t++) {
+            if (t % 15 == 0) engine.jump(0);
+            if (t % 17 == 0) engine.jump(1);
+            engine.step();
+            writer.record(engine);
+            if (engine.isAllGameOver()) engine.reset();
+        }
+        writer.close();
+        assertEquals(0, writer.getDropped());
+        assertEquals(2L * TICKS, writer.getRecordCount());
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.sorted().collect(Collectors.toList());
+        }
+        assertEquals(2 * TICKS / RECORDS_PER_FILE, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith(compress ? ".cptl.gz" : ".cptl"));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long rows = 0;
+        try (PrintStream out = new PrintStream(csv, false, StandardCharsets.UTF_8)) {
+            for (Path file : files) rows += TelemetryCsv.convert(file, out);
+        }
+        assertEquals(2L * TICKS, rows);
+
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        // Ticks count up from 1, one row per world each
+        for (int i = 0; i < lines.size(); i++) {
+            String[] fields = lines.get(i).split(",");
+            assertEquals(i / 2 + 1, Long.parseLong(fields[0]), lines.get(i));
+            assertEquals(i % 2, Integer.parseInt(fields[2]), lines.get(i));
+        }
+    }
+}
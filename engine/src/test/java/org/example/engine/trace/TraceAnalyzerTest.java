@@ -0,0 +1,54 @@
+package org.example.engine.trace;
+
+import org.example.engine.GameEngine;
+import org.example.engine.World;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceAnalyzerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void analyzerReadsBackWhatWasWritten() throws IOException {
+        Path file = dir.resolve("trace.cptr");
+        int runs = 300;
+        int maxScore = 0;
+        try (TraceWriter writer = new TraceWriter(file)) {
+            for (int i = 0; i < runs; i++) {
+                World world = new World(0, GameEngine.worldSeed(5, i));
+                // Jump every 20 ticks: climbs a while, then hits or falls
+                while (!world.isGameOver() && world.getTick() < 5000) {
+                    if (world.getTick() % 20 == 0) world.jump();
+                    world.step();
+                }
+                assertTrue(world.isGameOver(), "run " + i + " should end");
+                maxScore = Math.max(maxScore, world.getScore());
+                writer.write(world, GameEngine.worldSeed(5, i));
+            }
+            // One run stopped while still alive
+            writer.write(new World(0, 1), 1);
+            assertEquals(runs + 1, writer.getRecordCount());
+        }
+
+        TraceSketch sketch = new TraceAnalyzer(ForkJoinPool.commonPool()).analyze(file);
+        assertEquals(runs + 1, sketch.getRuns());
+        assertEquals(maxScore, sketch.scoreQuantile(1.0));
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        sketch.printReport(new PrintStream(report, true, StandardCharsets.UTF_8));
+        String summary = report.toString(StandardCharsets.UTF_8).lines().findFirst().orElse("");
+        assertTrue(summary.startsWith("runs=" + (runs + 1) + " "), summary);
+        assertTrue(summary.contains(" capped=1 "), summary);
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Random;
 /**
  * Manages a procedural infinite starfield background.
  * Stars slowly fall down the screen and wrap around to create an infinite effect.
+ * Drawn in immediate mode; the game uses {@link GpuStarfield} instead when the
+ * GL context supports shaders.
  */
 public class BackgroundStars {
     private static final int STAR_COUNT = 250; // Number of stars
@@ -43,12 +45,20 @@ public class BackgroundStars {
      * @param maxY Top bound of the screen in world coordinates
      */
     public BackgroundStars(float minX, float maxX, float minY, float maxY) {
+        this(minX, maxX, minY, maxY, System.nanoTime());
+    }
+
+    /**
+     * Constructor with a fixed seed, so seeded games also get the same sky
+     * @param seed Seed for star positions, speeds and brightness
+     */
+    public BackgroundStars(float minX, float maxX, float minY, float maxY, long seed) {
         this.minX = minX;
         this.maxX = maxX;
         this.minY = minY;
         this.maxY = maxY;
 
-        this.random = new Random();
+        this.random = new Random(seed);
         this.stars = new Star[STAR_COUNT];
 
         // Initialize stars with random positions and speeds
@@ -0,0 +1,313 @@
+package org.example;
+
+import org.example.engine.ClimbInputPolicy;
+import org.example.engine.CpuPlayer;
+import org.example.engine.GameEngine;
+import org.example.engine.GameRules;
+import org.example.engine.InputPolicy;
+import org.example.engine.PeriodicInputPolicy;
+import org.example.engine.RandomInputPolicy;
+import org.example.engine.World;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Headless balance tool: plays many seeded games on every core with a
+ * scripted or random input policy and reports the score distribution and
+ * throughput, so ring spacing, radius and rotation settings can be tuned
+ * from data instead of by feel. Needs no display.
+ *
+ * Game {@code g} always gets the layout of round {@code g} of the master
+ * seed, so results are the same whatever the thread count. (Except with the
+ * cpu policy: its search is time-budgeted, so load can change its choices.)
+ *
+ * Usage: BatchEvaluator [--games N] [--threads N] [--seed N] [--max-ticks N]
+ *        [--policy random[:p] | periodic[:ticks] | climb[:speed] | cpu[:easy|normal|hard]]
+ *        [--format csv|json] [--out file]
+ *        [--ring-spacing F] [--spacing-jitter F] [--radius-min F] [--radius-max F]
+ *        [--thickness-min F] [--thickness-max F] [--rotation-speed F]
+ *        [--changer-chance F] [--gravity F] [--jump-velocity F]
+ */
+public class BatchEvaluator {
+    private static final int CHUNK = 256; // games claimed per grab of the shared counter
+    private static final int MAX_TRACKED_SCORE = 1000; // higher scores share the last bucket
+
+    private long games = 1_000_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 42;
+    private int maxTicks = GameEngine.TICKS_PER_SECOND * 60 * 10; // stop games that survive ten minutes
+    private String policyName = "random";
+    private String format = "csv";
+    private String out;
+    private final GameRules rules = new GameRules();
+
+    public static void main(String[] args) throws Exception {
+        BatchEvaluator evaluator = new BatchEvaluator();
+        try {
+            evaluator.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchEvaluator [--games N] [--threads N] [--seed N] [--max-ticks N]"
+                    + " [--policy random[:p]|periodic[:ticks]|climb[:speed]|cpu[:level]]"
+                    + " [--format csv|json] [--out file] [rule options, see class docs]");
+            System.exit(2);
+        }
+        evaluator.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--games": games = Long.parseLong(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--max-ticks": maxTicks = Integer.parseInt(value); break;
+                case "--policy": policyName = value; break;
+                case "--format": format = value; break;
+                case "--out": out = value; break;
+                case "--ring-spacing": rules.setBaseRingSpacing(Float.parseFloat(value)); break;
+                case "--spacing-jitter": rules.setRingSpacingJitter(Float.parseFloat(value)); break;
+                case "--radius-min": rules.setRingOuterRadiusMin(Float.parseFloat(value)); break;
+                case "--radius-max": rules.setRingOuterRadiusMax(Float.parseFloat(value)); break;
+                case "--thickness-min": rules.setRingThicknessMin(Float.parseFloat(value)); break;
+                case "--thickness-max": rules.setRingThicknessMax(Float.parseFloat(value)); break;
+                case "--rotation-speed": rules.setBaseRotationSpeed(Float.parseFloat(value)); break;
+                case "--changer-chance": rules.setColorChangerChance(Float.parseFloat(value)); break;
+                case "--gravity": rules.setGravity(Float.parseFloat(value)); break;
+                case "--jump-velocity": rules.setJumpVelocity(Float.parseFloat(value)); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (games <= 0 || games > Integer.MAX_VALUE || threads <= 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("games, threads and max-ticks must be positive");
+        }
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Unknown format " + format);
+        }
+        rules.validate();
+        policyFactory(); // fail on a bad policy before starting threads
+    }
+
+    /**
+     * Policies may keep per-world state (the CPU player does), so every
+     * thread gets its own instance.
+     */
+    private Supplier<InputPolicy> policyFactory() {
+        String[] parts = policyName.split(":", 2);
+        String arg = parts.length > 1 ? parts[1] : null;
+        switch (parts[0]) {
+            case "random": {
+                double chance = arg != null ? Double.parseDouble(arg) : 1.0 / 12;
+                InputPolicy policy = new RandomInputPolicy(chance, seed);
+                return () -> policy;
+            }
+            case "periodic": {
+                InputPolicy policy = new PeriodicInputPolicy(arg != null ? Integer.parseInt(arg) : 20);
+                return () -> policy;
+            }
+            case "climb": {
+                InputPolicy policy = new ClimbInputPolicy(arg != null ? Float.parseFloat(arg) : 0.05f);
+                return () -> policy;
+            }
+            case "cpu": {
+                CpuPlayer.Difficulty difficulty = arg != null
+                        ? CpuPlayer.Difficulty.valueOf(arg.toUpperCase(Locale.ROOT))
+                        : CpuPlayer.Difficulty.NORMAL;
+                return () -> {
+                    CpuPlayer cpu = new CpuPlayer(difficulty);
+                    return (world, tick) -> cpu.decide(world);
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policyName);
+        }
+    }
+
+    private void run() throws Exception {
+        Supplier<InputPolicy> policies = policyFactory();
+        AtomicLong nextGame = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Stats>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            InputPolicy policy = policies.get();
+            results.add(executor.submit(() -> play(policy, nextGame)));
+        }
+        Stats total = new Stats();
+        for (Future<Stats> f : results) total.add(f.get());
+        executor.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (PrintStream ps = out != null
+                ? new PrintStream(Files.newOutputStream(Paths.get(out)), false, "UTF-8")
+                : new PrintStream(System.out, false, "UTF-8")) {
+            if (format.equals("json")) {
+                writeJson(ps, total, seconds);
+            } else {
+                writeCsv(ps, total, seconds);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write report: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private Stats play(InputPolicy policy, AtomicLong nextGame) {
+        Stats stats = new Stats();
+        World world = new World(0, seed, rules);
+        long begin = System.nanoTime();
+        long first;
+        while ((first = nextGame.getAndAdd(CHUNK)) < games) {
+            long last = Math.min(first + CHUNK, games);
+            for (long g = first; g < last; g++) {
+                world.startRound((int) g);
+                while (!world.isGameOver() && world.getTick() < maxTicks) {
+                    if (policy.shouldJump(world, world.getTick())) world.jump();
+                    world.step();
+                }
+                stats.record(world.getScore(), world.getTick(), !world.isGameOver());
+            }
+        }
+        stats.busyNanos = System.nanoTime() - begin;
+        return stats;
+    }
+
+    private void writeCsv(PrintStream ps, Stats s, double seconds) {
+        ps.println("metric,value");
+        ps.printf(Locale.ROOT, "games,%d%n", s.games);
+        ps.printf(Locale.ROOT, "threads,%d%n", threads);
+        ps.printf(Locale.ROOT, "policy,%s%n", policyName);
+        ps.printf(Locale.ROOT, "seed,%d%n", seed);
+        ps.printf(Locale.ROOT, "rules,\"%s\"%n", rules);
+        ps.printf(Locale.ROOT, "seconds,%.3f%n", seconds);
+        ps.printf(Locale.ROOT, "gamesPerSec,%.0f%n", s.games / seconds);
+        ps.printf(Locale.ROOT, "worldTicksPerSec,%.0f%n", s.ticks / seconds);
+        ps.printf(Locale.ROOT, "worldTicksPerSecPerThread,%.0f%n", s.ticksPerBusySecond());
+        ps.printf(Locale.ROOT, "timedOut,%d%n", s.timedOut);
+        ps.printf(Locale.ROOT, "meanScore,%.4f%n", s.mean());
+        ps.printf(Locale.ROOT, "stddevScore,%.4f%n", s.stddev());
+        ps.printf(Locale.ROOT, "meanTicks,%.1f%n", (double) s.ticks / s.games);
+        ps.printf(Locale.ROOT, "p50,%d%n", s.percentile(0.50));
+        ps.printf(Locale.ROOT, "p90,%d%n", s.percentile(0.90));
+        ps.printf(Locale.ROOT, "p99,%d%n", s.percentile(0.99));
+        ps.printf(Locale.ROOT, "max,%d%n", s.maxScore);
+        ps.println();
+        ps.println("score,games,fraction");
+        for (int score = 0; score <= s.highestBucket(); score++) {
+            if (s.histogram[score] == 0) continue;
+            ps.printf(Locale.ROOT, "%s,%d,%.6f%n", score == MAX_TRACKED_SCORE ? score + "+" : score,
+                    s.histogram[score], (double) s.histogram[score] / s.games);
+        }
+    }
+
+    private void writeJson(PrintStream ps, Stats s, double seconds) {
+        ps.println("{");
+        ps.printf(Locale.ROOT, "  \"games\": %d,%n", s.games);
+        ps.printf(Locale.ROOT, "  \"threads\": %d,%n", threads);
+        ps.printf(Locale.ROOT, "  \"policy\": \"%s\",%n", policyName);
+        ps.printf(Locale.ROOT, "  \"seed\": %d,%n", seed);
+        ps.printf(Locale.ROOT, "  \"rules\": {\"gravity\": %s, \"jumpVelocity\": %s, \"ringSpacing\": %s,"
+                        + " \"spacingJitter\": %s, \"radiusMin\": %s, \"radiusMax\": %s, \"thicknessMin\": %s,"
+                        + " \"thicknessMax\": %s, \"rotationSpeed\": %s, \"changerChance\": %s},%n",
+                rules.getGravity(), rules.getJumpVelocity(), rules.getBaseRingSpacing(), rules.getRingSpacingJitter(),
+                rules.getRingOuterRadiusMin(), rules.getRingOuterRadiusMax(), rules.getRingThicknessMin(),
+                rules.getRingThicknessMax(), rules.getBaseRotationSpeed(), rules.getColorChangerChance());
+        ps.printf(Locale.ROOT, "  \"seconds\": %.3f,%n", seconds);
+        ps.printf(Locale.ROOT, "  \"gamesPerSec\": %.0f,%n", s.games / seconds);
+        ps.printf(Locale.ROOT, "  \"worldTicksPerSec\": %.0f,%n", s.ticks / seconds);
+        ps.printf(Locale.ROOT, "  \"worldTicksPerSecPerThread\": %.0f,%n", s.ticksPerBusySecond());
+        ps.printf(Locale.ROOT, "  \"timedOut\": %d,%n", s.timedOut);
+        ps.printf(Locale.ROOT, "  \"score\": {\"mean\": %.4f, \"stddev\": %.4f, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"max\": %d},%n",
+                s.mean(), s.stddev(), s.percentile(0.50), s.percentile(0.90), s.percentile(0.99), s.maxScore);
+        ps.print("  \"histogram\": [");
+        int highest = s.highestBucket();
+        for (int score = 0; score <= highest; score++) {
+            if (score > 0) ps.print(", ");
+            ps.print(s.histogram[score]);
+        }
+        ps.println("]");
+        ps.println("}");
+    }
+
+    /**
+     * Per-thread tallies, merged once at the end.
+     */
+    private static class Stats {
+        final long[] histogram = new long[MAX_TRACKED_SCORE + 1];
+        long games;
+        long ticks;
+        long timedOut;
+        long scoreSum;
+        double scoreSquares;
+        int maxScore;
+        long busyNanos; // summed over threads once merged
+
+        void record(int score, long gameTicks, boolean timedOut) {
+            histogram[Math.min(score, MAX_TRACKED_SCORE)]++;
+            games++;
+            ticks += gameTicks;
+            if (timedOut) this.timedOut++;
+            scoreSum += score;
+            scoreSquares += (double) score * score;
+            maxScore = Math.max(maxScore, score);
+        }
+
+        void add(Stats other) {
+            for (int i = 0; i < histogram.length; i++) histogram[i] += other.histogram[i];
+            games += other.games;
+            ticks += other.ticks;
+            timedOut += other.timedOut;
+            scoreSum += other.scoreSum;
+            scoreSquares += other.scoreSquares;
+            maxScore = Math.max(maxScore, other.maxScore);
+            busyNanos += other.busyNanos;
+        }
+
+        double mean() {
+            return games == 0 ? 0 : (double) scoreSum / games;
+        }
+
+        double stddev() {
+            if (games == 0) return 0;
+            double mean = mean();
+            return Math.sqrt(Math.max(0, scoreSquares / games - mean * mean));
+        }
+
+        /** Average rate of one thread while it was playing. */
+        double ticksPerBusySecond() {
+            return busyNanos == 0 ? 0 : ticks * 1e9 / busyNanos;
+        }
+
+        int percentile(double p) {
+            long target = (long) Math.ceil(p * games);
+            long seen = 0;
+            for (int score = 0; score < histogram.length; score++) {
+                seen += histogram[score];
+                if (seen >= target && seen > 0) return score;
+            }
+            return MAX_TRACKED_SCORE;
+        }
+
+        int highestBucket() {
+            int highest = histogram.length - 1;
+            while (highest > 0 && histogram[highest] == 0) highest--;
+            return highest;
+        }
+    }
+}
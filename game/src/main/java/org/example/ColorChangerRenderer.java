@@ -0,0 +1,37 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import org.example.engine.ColorChanger;
+
+/**
+ * Draws a {@link ColorChanger} pickup as a small filled circle.
+ */
+public class ColorChangerRenderer {
+    private static final float[][] COLORS = {
+            {0.0f, 1.0f, 1.0f}, // Cyan
+            {1.0f, 1.0f, 0.0f}, // Yellow
+            {1.0f, 0.0f, 1.0f}, // Magenta
+            {0.5f, 0.0f, 1.0f}  // Purple
+    };
+
+    private final GeometryCache geometry;
+
+    public ColorChangerRenderer() {
+        this(new GeometryCache());
+    }
+
+    public ColorChangerRenderer(GeometryCache geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * @param cameraY world-space Y at the viewport center
+     */
+    public void draw(GL2 gl, ColorChanger changer, double cameraY) {
+        gl.glColor3fv(COLORS[changer.getColorIndex()], 0);
+        gl.glPushMatrix();
+        gl.glTranslatef(changer.getX(), (float) (changer.getY() - cameraY), 0);
+        geometry.drawCircle(gl, changer.getRadius());
+        gl.glPopMatrix();
+    }
+}
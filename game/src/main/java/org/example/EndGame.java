@@ -23,7 +23,7 @@ public class EndGame {
     }
 
     private JPanel createEndGameScreen() {
-        JPanel panel = new BackgroundPanel();
+        JPanel panel = new MenuBackgroundPanel();
         panel.setLayout(new BorderLayout());
         panel.setFocusable(true);
 
@@ -113,25 +113,4 @@ public class EndGame {
         btn.setBorderPainted(false);
         return btn;
     }
-
-    private static class BackgroundPanel extends JPanel {
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            g.setColor(new Color(0x1E1E1E));
-            g.fillRect(0, 0, getWidth(), getHeight());
-
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            java.util.Random random = new java.util.Random(42);
-            for (int i = 0; i < 150; i++) {
-                int x = random.nextInt(getWidth());
-                int y = random.nextInt(getHeight());
-                float brightness = 0.5f + random.nextFloat() * 0.5f;
-                g2d.setColor(new Color(brightness, brightness, brightness));
-                g2d.fillOval(x, y, 2, 2);
-            }
-        }
-    }
 }
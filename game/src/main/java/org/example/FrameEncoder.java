@@ -0,0 +1,119 @@
+package org.example;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Turns captured RGBA frames into files. Runs on {@link FrameRecorder}'s
+ * worker threads, never on the render thread.
+ *
+ * Frames arrive as OpenGL reads them: tightly packed RGBA, bottom row first.
+ */
+interface FrameEncoder extends AutoCloseable {
+
+    /**
+     * @return true if frames may be encoded concurrently and out of order
+     */
+    boolean isParallel();
+
+    void encode(long frameNumber, ByteBuffer rgba, int width, int height) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * One numbered PNG per frame: {@code frame-000000.png}, ...
+     */
+    static FrameEncoder png(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return new FrameEncoder() {
+            @Override
+            public boolean isParallel() {
+                return true;
+            }
+
+            @Override
+            public void encode(long frameNumber, ByteBuffer rgba, int width, int height) throws IOException {
+                BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                for (int y = 0; y < height; y++) {
+                    int src = (height - 1 - y) * width * 4; // flip: GL rows start at the bottom
+                    int dst = y * width;
+                    for (int x = 0; x < width; x++, src += 4) {
+                        pixels[dst + x] = (rgba.get(src) & 0xFF) << 16 | (rgba.get(src + 1) & 0xFF) << 8 | (rgba.get(src + 2) & 0xFF);
+                    }
+                }
+                Path file = dir.resolve(String.format(Locale.ROOT, "frame-%06d.png", frameNumber));
+                if (!ImageIO.write(image, "png", file.toFile())) {
+                    throw new IOException("No PNG writer available");
+                }
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    /**
+     * Raw YUV 4:2:0 (BT.601, limited range) in a YUV4MPEG2 stream, which
+     * ffmpeg and most players read directly. Every frame must have the
+     * size of the first one.
+     */
+    static FrameEncoder yuv(Path file, int fps) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20);
+        return new FrameEncoder() {
+            private int width = -1, height = -1;
+            private byte[] plane; // Y, then U, then V
+
+            @Override
+            public boolean isParallel() {
+                return false; // one stream, frames in order
+            }
+
+            @Override
+            public void encode(long frameNumber, ByteBuffer rgba, int w, int h) throws IOException {
+                if (width < 0) {
+                    width = w & ~1; // 4:2:0 needs even dimensions
+                    height = h & ~1;
+                    plane = new byte[width * height * 3 / 2];
+                    out.write(String.format(Locale.ROOT, "YUV4MPEG2 W%d H%d F%d:1 Ip A1:1 C420jpeg\n", width, height, fps)
+                            .getBytes(StandardCharsets.US_ASCII));
+                } else if ((w & ~1) != width || (h & ~1) != height) {
+                    throw new IOException("Frame size changed to " + w + "x" + h + " in a " + width + "x" + height + " stream");
+                }
+                int chroma = width * height;
+                int quarter = chroma / 4;
+                for (int y = 0; y < height; y++) {
+                    int row = (h - 1 - y) * w * 4; // flip: GL rows start at the bottom
+                    for (int x = 0; x < width; x++) {
+                        int p = row + x * 4;
+                        int r = rgba.get(p) & 0xFF, g = rgba.get(p + 1) & 0xFF, b = rgba.get(p + 2) & 0xFF;
+                        plane[y * width + x] = (byte) (((66 * r + 129 * g + 25 * b + 128) >> 8) + 16);
+                        if ((x & 1) == 0 && (y & 1) == 0) {
+                            int c = (y / 2) * (width / 2) + x / 2;
+                            plane[chroma + c] = (byte) (((-38 * r - 74 * g + 112 * b + 128) >> 8) + 128);
+                            plane[chroma + quarter + c] = (byte) (((112 * r - 94 * g - 18 * b + 128) >> 8) + 128);
+                        }
+                    }
+                }
+                out.write("FRAME\n".getBytes(StandardCharsets.US_ASCII));
+                out.write(plane);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package org.example;
+
+import com.jogamp.opengl.GLAutoDrawable;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Drives a drawable's display() on its own thread at a chosen pace:
+ * <ul>
+ *   <li>{@link Mode#VSYNC}: swap interval 1, paced by the blocking buffer swap
+ *       alone (a drawable whose swap doesn't block runs uncapped; use
+ *       {@link Mode#TARGET} at {@link #monitorRefreshRate()} for those)</li>
+ *   <li>{@link Mode#UNCAPPED}: swap interval 0, next frame as soon as one is done</li>
+ *   <li>{@link Mode#TARGET}: swap interval 0, a fixed rate such as 120/144/240</li>
+ * </ul>
+ * While the window is unfocused and power saving is on, it drops to
+ * {@value #POWER_SAVE_FPS} FPS and only sleeps between frames.
+ *
+ * {@link Mode#TARGET} deadlines are met by sleeping until shortly before
+ * them and spinning the rest, since sleeps alone can overshoot by a
+ * millisecond or more. In {@link Mode#VSYNC} the pacer never waits: a
+ * deadline of its own would drift against vblank and now and then make a
+ * frame miss one. A frame that finishes more than half a period late
+ * counts as missed (one per period it overran), and the schedule restarts
+ * from there rather than rendering a burst to catch up.
+ *
+ * While paused (nothing of the drawable is visible, see {@link RenderLifecycle})
+ * the thread waits without rendering. A frame already under way when the
+ * pause comes finishes and is counted as rendered while hidden.
+ */
+public class FramePacer {
+    public enum Mode { VSYNC, UNCAPPED, TARGET }
+
+    public static final int POWER_SAVE_FPS = 30;
+    private static final int FALLBACK_REFRESH_RATE = 60;
+    private static final long SPIN_NANOS = 2_000_000L; // sleep until this close to the deadline, then spin
+
+    private final GLAutoDrawable drawable;
+    private volatile Mode mode;
+    private volatile int targetFps;
+    private volatile boolean powerSave = true;
+    private volatile boolean focused = true;
+
+    private volatile LongConsumer frameListener;
+    private volatile boolean running;
+    private final Object pauseLock = new Object(); // not this: stop() holds that while joining the thread
+    private volatile boolean paused;
+    private Thread thread;
+
+    // Written only by the pacer thread
+    private volatile long framesRendered;
+    private volatile long missedFrames;
+    private volatile long hiddenFrames;
+
+    /**
+     * @param targetFps rate for {@link Mode#TARGET}; ignored by the other modes
+     */
+    public FramePacer(GLAutoDrawable drawable, Mode mode, int targetFps) {
+        this.drawable = drawable;
+        setMode(mode, targetFps);
+    }
+
+    /**
+     * Refresh rate of the default screen, or {@value #FALLBACK_REFRESH_RATE}
+     * when it can't be read.
+     */
+    public static int monitorRefreshRate() {
+        try {
+            DisplayMode displayMode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode();
+            int rate = displayMode.getRefreshRate();
+            return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? FALLBACK_REFRESH_RATE : rate;
+        } catch (HeadlessException e) {
+            return FALLBACK_REFRESH_RATE;
+        }
+    }
+
+    public void setMode(Mode mode, int targetFps) {
+        if (mode == Mode.TARGET && targetFps <= 0) {
+            throw new IllegalArgumentException("targetFps must be positive: " + targetFps);
+        }
+        this.targetFps = mode == Mode.VSYNC ? monitorRefreshRate() : targetFps;
+        this.mode = mode;
+    }
+
+    public Mode getMode() { return mode; }
+    /** Frames per second for {@link Mode#TARGET}, the refresh rate for {@link Mode#VSYNC}. */
+    public int getTargetFps() { return targetFps; }
+
+    /**
+     * Called on the pacer thread with {@link System#nanoTime()} each time a
+     * frame's display() returns, i.e. after its buffer swap.
+     */
+    public void setFrameListener(LongConsumer listener) { this.frameListener = listener; }
+
+    /**
+     * Whether to drop to {@value #POWER_SAVE_FPS} FPS while unfocused. On by default.
+     */
+    public void setPowerSave(boolean powerSave) { this.powerSave = powerSave; }
+
+    /** Report window focus changes here. */
+    public void setFocused(boolean focused) { this.focused = focused; }
+
+    public long getFramesRendered() { return framesRendered; }
+    public long getMissedFrames() { return missedFrames; }
+    /** Frames that finished while paused; should stay near zero. */
+    public long getHiddenFrames() { return hiddenFrames; }
+
+    /**
+     * Stops rendering until unpaused, without stopping the thread. May be
+     * called before {@link #start()}.
+     */
+    public void setPaused(boolean paused) {
+        synchronized (pauseLock) {
+            this.paused = paused;
+            pauseLock.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public synchronized boolean isAnimating() {
+        return running;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "frame-pacer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops after the current frame and waits for it, unless called from a
+     * display callback.
+     */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.println("Frame pacer: " + framesRendered + " frames, " + missedFrames + " missed, "
+                + hiddenFrames + " while hidden (" + mode + ")");
+    }
+
+    private void run() {
+        int swapInterval = -1;
+        long deadline = System.nanoTime();
+        while (running) {
+            if (awaitUnpaused()) deadline = System.nanoTime();
+            if (!running) return;
+
+            boolean saving = powerSave && !focused;
+            Mode current = saving ? Mode.TARGET : mode;
+            long period = current == Mode.UNCAPPED ? 0 : 1_000_000_000L / (saving ? POWER_SAVE_FPS : targetFps);
+
+            int wantedSwap = current == Mode.VSYNC ? 1 : 0;
+            if (wantedSwap != swapInterval) {
+                swapInterval = wantedSwap;
+                drawable.invoke(false, d -> {
+                    d.getGL().setSwapInterval(wantedSwap);
+                    return true;
+                });
+                deadline = System.nanoTime();
+            }
+
+            try {
+                drawable.display();
+            } catch (RuntimeException e) {
+                System.err.println("Frame pacer stopped: " + e);
+                running = false;
+                return;
+            }
+            framesRendered++;
+            LongConsumer listener = frameListener;
+            if (listener != null) listener.accept(System.nanoTime());
+            if (paused) hiddenFrames++;
+            if (period == 0) continue;
+
+            deadline += period;
+            long now = System.nanoTime();
+            long late = now - deadline;
+            if (late > period / 2) {
+                missedFrames += late / period + 1;
+                deadline = now; // start over from here instead of bursting to catch up
+            } else if (current == Mode.VSYNC) {
+                deadline = now; // the swap already waited for vblank; only measure from here
+            } else {
+                waitUntil(deadline, saving);
+            }
+        }
+    }
+
+    /**
+     * Blocks while paused.
+     *
+     * @return whether it had to wait
+     */
+    private boolean awaitUnpaused() {
+        synchronized (pauseLock) {
+            boolean waited = false;
+            while (paused && running) {
+                waited = true;
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            return waited;
+        }
+    }
+
+    private static void waitUntil(long deadline, boolean sleepOnly) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > (sleepOnly ? 0 : SPIN_NANOS)) {
+            LockSupport.parkNanos(sleepOnly ? remaining : remaining - SPIN_NANOS);
+        }
+        if (sleepOnly) return;
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GLAutoDrawable;
+import com.jogamp.opengl.GLEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures every rendered frame without stalling the render thread. Add it to
+ * a drawable after the {@link Game} so it sees the finished frame.
+ *
+ * Each frame is read into one of a ring of pixel buffer objects; the read
+ * completes on the GPU while later frames render, and the frame is mapped
+ * {@value #PBO_COUNT} frames later, just before its buffer is reused, when
+ * it is long done. The pixels are copied into a pooled buffer and handed to
+ * a {@link FrameEncoder} on worker threads. If the encoders fall behind and the pool runs dry, frames are
+ * dropped and counted instead of blocking.
+ */
+public class FrameRecorder implements GLEventListener {
+    private static final int PBO_COUNT = 3;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final FrameEncoder encoder;
+    private final ExecutorService workers;
+    private final BlockingQueue<ByteBuffer> pool; // frame copies not in use by an encoder
+    private final int maxPooledFrames;
+    private int allocatedFrames;
+
+    private final int[] pbos = new int[PBO_COUNT];
+    private final long[] pboFrame = new long[PBO_COUNT]; // frame number held by each PBO, -1 if empty
+    private int width, height;
+    private long frameNumber;
+
+    private final AtomicLong encoded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param encoder where frames go; closed when this recorder is disposed
+     * @param threads encoder threads (ignored for encoders that must run in order)
+     * @param pooledFrames frames that may wait for or be in encoding at once
+     */
+    public FrameRecorder(FrameEncoder encoder, int threads, int pooledFrames) {
+        this.encoder = encoder;
+        this.workers = Executors.newFixedThreadPool(encoder.isParallel() ? threads : 1, r -> {
+            Thread t = new Thread(r, "frame-encoder");
+            t.setDaemon(true);
+            return t;
+        });
+        this.pool = new ArrayBlockingQueue<>(pooledFrames);
+        this.maxPooledFrames = pooledFrames;
+        Arrays.fill(pboFrame, -1);
+    }
+
+    @Override
+    public void init(GLAutoDrawable drawable) {
+        resize(drawable.getGL().getGL2(), drawable.getSurfaceWidth(), drawable.getSurfaceHeight());
+    }
+
+    @Override
+    public void reshape(GLAutoDrawable drawable, int x, int y, int width, int height) {
+        resize(drawable.getGL().getGL2(), drawable.getSurfaceWidth(), drawable.getSurfaceHeight());
+    }
+
+    @Override
+    public void display(GLAutoDrawable drawable) {
+        GL2 gl = drawable.getGL().getGL2();
+        if (closed || width == 0 || height == 0) return;
+
+        int slot = (int) (frameNumber % PBO_COUNT);
+        // The slot we're about to reuse holds the oldest frame; its read finished long ago
+        collect(gl, slot);
+
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbos[slot]);
+        gl.glReadPixels(0, 0, width, height, GL2.GL_RGBA, GL2.GL_UNSIGNED_BYTE, 0L);
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+        pboFrame[slot] = frameNumber++;
+    }
+
+    @Override
+    public void dispose(GLAutoDrawable drawable) {
+        GL2 gl = drawable.getGL().getGL2();
+        if (!closed) flush(gl);
+        deleteBuffers(gl);
+        finish();
+    }
+
+    /**
+     * Stops capturing, waits for queued frames to be encoded and closes the
+     * encoder. Frames still in the PBO ring are lost; {@link #dispose} collects
+     * them first. Safe to call from a shutdown hook and more than once.
+     */
+    public synchronized void finish() {
+        if (closed) return;
+        closed = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Frame encoders did not finish in time");
+            }
+            encoder.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Could not finish capture: " + e.getMessage());
+        }
+        System.out.println("Capture: " + encoded.get() + " frames encoded, " + dropped.get() + " dropped, "
+                + failed.get() + " failed");
+    }
+
+    public long getEncodedFrames() { return encoded.get(); }
+    public long getDroppedFrames() { return dropped.get(); }
+    public long getFailedFrames() { return failed.get(); }
+
+    /**
+     * Maps the given PBO if it holds a frame and passes that frame to the encoders.
+     */
+    private void collect(GL2 gl, int slot) {
+        long frame = pboFrame[slot];
+        if (frame < 0) return;
+        pboFrame[slot] = -1;
+
+        int size = width * height * BYTES_PER_PIXEL;
+        ByteBuffer copy = pool.poll();
+        if (copy == null) {
+            if (allocatedFrames == maxPooledFrames) {
+                dropped.incrementAndGet(); // encoders are behind; don't wait for them
+                return;
+            }
+            allocatedFrames++;
+            copy = ByteBuffer.allocate(size);
+        } else if (copy.capacity() < size) {
+            copy = ByteBuffer.allocate(size); // window grew; replace the stale one
+        }
+
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbos[slot]);
+        ByteBuffer mapped = gl.glMapBuffer(GL2.GL_PIXEL_PACK_BUFFER, GL2.GL_READ_ONLY);
+        if (mapped == null) {
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+            pool.offer(copy);
+            failed.incrementAndGet();
+            return;
+        }
+        copy.clear();
+        mapped.limit(size);
+        copy.put(mapped);
+        copy.flip();
+        gl.glUnmapBuffer(GL2.GL_PIXEL_PACK_BUFFER);
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+
+        int w = width, h = height;
+        ByteBuffer pixels = copy;
+        try {
+            workers.execute(() -> {
+                try {
+                    encoder.encode(frame, pixels, w, h);
+                    encoded.incrementAndGet();
+                } catch (IOException | RuntimeException e) {
+                    if (failed.getAndIncrement() == 0) {
+                        System.err.println("Frame " + frame + " could not be encoded: " + e.getMessage());
+                    }
+                } finally {
+                    pool.offer(pixels);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.offer(pixels); // finish() ran on another thread
+            dropped.incrementAndGet();
+        }
+    }
+
+    /** Collects every frame still in flight, oldest first. */
+    private void flush(GL2 gl) {
+        for (int i = 0; i < PBO_COUNT; i++) {
+            collect(gl, (int) ((frameNumber + i) % PBO_COUNT));
+        }
+    }
+
+    private void resize(GL2 gl, int newWidth, int newHeight) {
+        if (newWidth == width && newHeight == height && pbos[0] != 0) return;
+        flush(gl);
+        deleteBuffers(gl);
+        width = newWidth;
+        height = newHeight;
+        if (width == 0 || height == 0) return;
+
+        gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT, 1);
+        gl.glGenBuffers(PBO_COUNT, pbos, 0);
+        for (int pbo : pbos) {
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbo);
+            gl.glBufferData(GL2.GL_PIXEL_PACK_BUFFER, (long) width * height * BYTES_PER_PIXEL, null, GL2.GL_STREAM_READ);
+        }
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+    }
+
+    private void deleteBuffers(GL2 gl) {
+        if (pbos[0] != 0) {
+            gl.glDeleteBuffers(PBO_COUNT, pbos, 0);
+            Arrays.fill(pbos, 0);
+        }
+    }
+}
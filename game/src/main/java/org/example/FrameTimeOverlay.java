@@ -0,0 +1,108 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.util.gl2.GLUT;
+import org.example.engine.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Draws the recent frame and tick times from a {@link FrameTimer} as two
+ * graphs in the bottom-left corner, with the frame budget as a red line and
+ * the frame-time quantiles as text. Toggled in game with F3.
+ *
+ * The text is rebuilt every {@value #TEXT_REFRESH_FRAMES} frames, so the
+ * overlay itself stays out of the numbers it shows.
+ */
+class FrameTimeOverlay {
+    private static final int TEXT_REFRESH_FRAMES = 30;
+    private static final int MARGIN = 10;
+    private static final int GRAPH_HEIGHT = 80;
+    private static final float BUDGET_MS = 1000f / 60f;
+    private static final float SCALE_MS = 2 * BUDGET_MS; // top of the graph
+
+    private final GLUT glut = new GLUT();
+    private String frameText = "";
+    private String tickText = "";
+    private int framesUntilText;
+
+    /**
+     * Draws over whatever is on screen; leaves both matrices as it found them.
+     */
+    void draw(GL2 gl, FrameTimer timer, int surfaceWidth, int surfaceHeight) {
+        if (--framesUntilText <= 0) {
+            framesUntilText = TEXT_REFRESH_FRAMES;
+            frameText = summary("frame", timer.histogram(FrameTimer.Phase.FRAME));
+            tickText = summary("tick ", timer.histogram(FrameTimer.Phase.TICK));
+        }
+
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glPushMatrix();
+        gl.glLoadIdentity();
+        gl.glOrtho(0, surfaceWidth, 0, surfaceHeight, -1, 1);
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+        gl.glPushMatrix();
+        gl.glLoadIdentity();
+
+        int width = Math.min(FrameTimer.HISTORY * 2, surfaceWidth - 2 * MARGIN);
+        float xStep = width / (float) (FrameTimer.HISTORY - 1);
+        float bottom = MARGIN;
+        float top = bottom + GRAPH_HEIGHT;
+
+        // Backdrop
+        gl.glEnable(GL2.GL_BLEND);
+        gl.glBlendFunc(GL2.GL_SRC_ALPHA, GL2.GL_ONE_MINUS_SRC_ALPHA);
+        gl.glColor4f(0f, 0f, 0f, 0.6f);
+        gl.glBegin(GL2.GL_QUADS);
+        gl.glVertex2f(MARGIN - 4, bottom - 4);
+        gl.glVertex2f(MARGIN + width + 4, bottom - 4);
+        gl.glVertex2f(MARGIN + width + 4, top + 40);
+        gl.glVertex2f(MARGIN - 4, top + 40);
+        gl.glEnd();
+        gl.glDisable(GL2.GL_BLEND);
+
+        // Budget line
+        float budgetY = bottom + GRAPH_HEIGHT * BUDGET_MS / SCALE_MS;
+        gl.glLineWidth(1f);
+        gl.glColor3f(1f, 0.2f, 0.2f);
+        gl.glBegin(GL2.GL_LINES);
+        gl.glVertex2f(MARGIN, budgetY);
+        gl.glVertex2f(MARGIN + width, budgetY);
+        gl.glEnd();
+
+        // Oldest sample on the left, latest on the right
+        gl.glColor3f(0.3f, 1f, 0.3f);
+        gl.glBegin(GL2.GL_LINE_STRIP);
+        for (int i = 0; i < FrameTimer.HISTORY; i++) {
+            gl.glVertex2f(MARGIN + i * xStep, graphY(timer.frameMillis(FrameTimer.HISTORY - 1 - i), bottom));
+        }
+        gl.glEnd();
+        gl.glColor3f(0.3f, 0.7f, 1f);
+        gl.glBegin(GL2.GL_LINE_STRIP);
+        for (int i = 0; i < FrameTimer.HISTORY; i++) {
+            gl.glVertex2f(MARGIN + i * xStep, graphY(timer.tickMillis(FrameTimer.HISTORY - 1 - i), bottom));
+        }
+        gl.glEnd();
+
+        gl.glColor3f(0.3f, 1f, 0.3f);
+        gl.glRasterPos2f(MARGIN, top + 22);
+        glut.glutBitmapString(GLUT.BITMAP_8_BY_13, frameText);
+        gl.glColor3f(0.3f, 0.7f, 1f);
+        gl.glRasterPos2f(MARGIN, top + 6);
+        glut.glutBitmapString(GLUT.BITMAP_8_BY_13, tickText);
+
+        gl.glPopMatrix();
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glPopMatrix();
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+    }
+
+    private static float graphY(float millis, float bottom) {
+        return bottom + GRAPH_HEIGHT * Math.min(millis, SCALE_MS) / SCALE_MS;
+    }
+
+    private static String summary(String label, LatencyHistogram h) {
+        return String.format(Locale.ROOT, "%s p50 %.2f  p99 %.2f  p99.9 %.2f  max %.2f ms", label,
+                h.quantile(0.50) / 1e6, h.quantile(0.99) / 1e6, h.quantile(0.999) / 1e6, h.getMax() / 1e6);
+    }
+}
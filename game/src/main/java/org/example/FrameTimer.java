@@ -0,0 +1,138 @@
+package org.example;
+
+import org.example.engine.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Times each phase of a frame and of a simulation tick into per-phase
+ * {@link LatencyHistogram}s, and keeps the last {@value #HISTORY} frame and
+ * tick times for the overlay graph. Nothing is allocated while recording.
+ *
+ * Render phases are recorded on the GL thread and tick phases on the
+ * simulation thread, so every histogram has a single writer.
+ */
+public class FrameTimer {
+    static final int HISTORY = 240;
+
+    /**
+     * What is timed. The render phases add up to {@link #FRAME}; the tick
+     * phases to {@link #TICK}. {@link #INPUT} is how long a key press waited
+     * for the tick that applied it.
+     */
+    public enum Phase {
+        INTERVAL("frame interval"),
+        FRAME("frame total"),
+        LOCK("world lock wait"),
+        STARS("starfield"),
+        BALLS("balls"),
+        RINGS("rings"),
+        CHANGERS("color changers"),
+        OVERLAY("overlay"),
+        TICK("tick total"),
+        INPUT("input to tick"),
+        CPU_PLAYER("cpu player"),
+        STEP("engine step"), // physics, spawning and culling; the collision pass is its own phase
+        COLLISION("collision");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+    private final float[] frameHistory = new float[HISTORY]; // ms, ring buffer
+    private final float[] tickHistory = new float[HISTORY];
+    private int frameCursor, tickCursor;
+    private long lastFrameStart;
+
+    public FrameTimer() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Starts a frame and records the interval since the previous one.
+     *
+     * @return the start time, to pass to {@link #mark}
+     */
+    public long beginFrame() {
+        long now = System.nanoTime();
+        if (lastFrameStart != 0) {
+            histograms[Phase.INTERVAL.ordinal()].record(now - lastFrameStart);
+        }
+        lastFrameStart = now;
+        return now;
+    }
+
+    /**
+     * Records {@code phase} as having run from {@code since} until now.
+     *
+     * @return now, the start of the next phase
+     */
+    public long mark(Phase phase, long since) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - since);
+        return now;
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the whole frame, started by {@link #beginFrame()}.
+     */
+    public void endFrame(long frameStart) {
+        long nanos = System.nanoTime() - frameStart;
+        histograms[Phase.FRAME.ordinal()].record(nanos);
+        frameHistory[frameCursor] = nanos / 1e6f;
+        frameCursor = (frameCursor + 1) % HISTORY;
+    }
+
+    /**
+     * Records a whole simulation tick.
+     */
+    public void endTick(long tickStart) {
+        long nanos = System.nanoTime() - tickStart;
+        histograms[Phase.TICK.ordinal()].record(nanos);
+        tickHistory[tickCursor] = nanos / 1e6f;
+        tickCursor = (tickCursor + 1) % HISTORY;
+    }
+
+    LatencyHistogram histogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /** Frame time in ms, {@code age} frames ago (0 = latest). */
+    float frameMillis(int age) {
+        return frameHistory[Math.floorMod(frameCursor - 1 - age, HISTORY)];
+    }
+
+    /** Tick time in ms, {@code age} ticks ago (0 = latest). */
+    float tickMillis(int age) {
+        return tickHistory[Math.floorMod(tickCursor - 1 - age, HISTORY)];
+    }
+
+    /**
+     * Writes one line per phase: count, p50, p99, p99.9 and max in microseconds.
+     */
+    public void dump(PrintStream out) {
+        out.println("phase,count,p50_us,p99_us,p999_us,max_us");
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = histograms[phase.ordinal()];
+            out.printf(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f%n", phase.label, h.getCount(),
+                    h.quantile(0.50) / 1e3, h.quantile(0.99) / 1e3, h.quantile(0.999) / 1e3, h.getMax() / 1e3);
+        }
+        out.flush();
+    }
+}
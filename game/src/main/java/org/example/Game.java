@@ -0,0 +1,586 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GLAutoDrawable;
+import com.jogamp.opengl.GLEventListener;
+import org.example.engine.ColorChanger;
+import org.example.engine.CpuPlayer;
+import org.example.engine.FixedStepLoop;
+import org.example.engine.GameEngine;
+import org.example.engine.InputQueue;
+import org.example.engine.InputRecorder;
+import org.example.engine.Ring;
+import org.example.engine.World;
+import org.example.engine.events.GameEvent;
+import org.example.engine.events.GameEventBus;
+import org.example.engine.events.GameEventType;
+import org.example.engine.jfr.FrameEvent;
+import org.example.engine.telemetry.TelemetryWriter;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/**
+ * Game supports singleplayer and split-screen multiplayer.
+ * In multiplayer mode: left = player1 (SPACE), right = player2 (UP ARROW).
+ * Each side has independent world state (rings, color changers, score).
+ *
+ * All game rules live in the headless {@link GameEngine}; this class only maps
+ * input to it and draws its worlds. The engine is stepped at a fixed tick rate
+ * on its own thread; display() only draws, interpolating between the previous
+ * and current tick.
+ *
+ * Key presses don't touch the engine from the input thread: they are
+ * timestamped into an {@link InputQueue}, and each tick applies the presses
+ * that happened during the time span it simulates.
+ *
+ * Scores, collisions, color changes, game overs and spawns go out on a
+ * {@link GameEventBus}; the score log is one of its subscribers, so the
+ * simulation thread never waits on the console.
+ */
+public class Game implements GLEventListener {
+    public static final int TICKS_PER_SECOND = GameEngine.TICKS_PER_SECOND;
+    private static final float VIEWPORT_WIDTH = 20f; // world units across one player's view
+
+    // Support 1 or 2 players
+    public final boolean isMultiplayer;
+    private final GameEngine engine; // world 0 = left (player1), world 1 = right (player2 if multiplayer)
+    private final BackgroundStars backgroundStars; // fallback when the GPU starfield can't run
+    private GpuStarfield gpuStars; // created in init(); null without shader support
+    private int starCount = GpuStarfield.DEFAULT_STAR_COUNT;
+    private final double[] cameraY; // per world, reused every frame
+
+    // Vertex buffers shared by the entity renderers; lives in the GL context
+    private final GeometryCache geometry = new GeometryCache();
+    private final PlayerBallRenderer ballRenderer = new PlayerBallRenderer(geometry);
+    private final RingRenderer ringRenderer = new RingRenderer(geometry);
+    private final ColorChangerRenderer colorChangerRenderer = new ColorChangerRenderer(geometry);
+
+    // Guards all engine state; held by the simulation tick, input and the renderer
+    private final Object worldLock = new Object();
+    private final FixedStepLoop simulation = new FixedStepLoop(TICKS_PER_SECOND, this::tick);
+
+    // Presses waiting for their tick; drained on the simulation thread
+    private static final int INPUT_CAPACITY = 256;
+    private final InputQueue input = new InputQueue(INPUT_CAPACITY);
+    private final InputQueue.Sink applyPress = this::applyPress;
+    private long tickStart; // simulation thread only
+    private boolean gameOverReported; // under worldLock; cleared once a reset starts a new game
+
+    // Published on the simulation thread, or under worldLock; subscribers run on their own threads
+    private static final int EVENT_CAPACITY = 1024;
+    private final GameEventBus events = new GameEventBus(EVENT_CAPACITY);
+    private GameEventBus.Subscription scoreLog; // between init() and dispose()
+    private TelemetryWriter telemetry; // guarded by worldLock; fed after every step
+
+    // Per-phase timings of every frame and tick; the overlay is toggled with F3
+    private final FrameTimer frameTimer = new FrameTimer();
+    private final FrameTimeOverlay frameTimeOverlay = new FrameTimeOverlay();
+    private volatile boolean overlayVisible;
+    private volatile LatencyProbe latencyProbe;
+    private long frameNumber;
+
+    private GameStateListener gameStateListener; // used for end-game UI callback for singleplayer; multiplayer not using it
+
+    // Optional computer player per slot (copy-on-write); snapshots only touched on the simulation thread
+    private volatile CpuPlayer[] cpuPlayers;
+    private final World[] cpuSnapshots;
+
+    // world bounds (same for both worlds, but kept per-player for flexibility)
+    private float worldMinX = -10f;
+    private float worldMaxX = 10f;
+    private float worldMinY = -20f;
+    private float worldMaxY = 20f;
+
+    public Game(boolean isMultiplayer) {
+        this(isMultiplayer, System.nanoTime());
+    }
+
+    /**
+     * @param seed drives all level generation and colors, so the same seed and
+     *             inputs always play out the same way
+     */
+    public Game(boolean isMultiplayer, long seed) {
+        this.isMultiplayer = isMultiplayer;
+        engine = new GameEngine(isMultiplayer ? 2 : 1, seed);
+        cameraY = new double[engine.getWorldCount()];
+        cpuPlayers = new CpuPlayer[engine.getWorldCount()];
+        cpuSnapshots = new World[engine.getWorldCount()];
+        engine.setEventBus(events);
+        engine.setCollisionTiming(true); // for the COLLISION phase of the frame timer
+        // create a single background stars manager; we will update its bounds in init/reshape
+        backgroundStars = new BackgroundStars(worldMinX, worldMaxX, worldMinY, worldMaxY, seed);
+    }
+    public boolean isMultiplayer() {
+        return isMultiplayer;
+    }
+
+
+    /**
+     * Sets how many stars the GPU starfield draws. Takes effect on the next
+     * {@link #init(GLAutoDrawable)}.
+     */
+    public void setStarCount(int starCount) {
+        this.starCount = starCount;
+    }
+
+    public void setGameStateListener(GameStateListener listener) {
+        this.gameStateListener = listener;
+    }
+
+    /**
+     * Records every key press from now on to a binary file that
+     * {@link org.example.engine.ReplayRunner} can re-run headless.
+     * A world already part-way through a round starts a new one, since a
+     * replay can only begin at a round boundary. The recording is finished
+     * when this game is disposed.
+     */
+    public void startRecording(Path file) {
+        synchronized (worldLock) {
+            engine.startRecording(new InputRecorder(file));
+        }
+    }
+
+    /**
+     * Finishes the recording started by {@link #startRecording(Path)}, if any.
+     */
+    public void stopRecording() {
+        synchronized (worldLock) {
+            engine.stopRecording();
+        }
+    }
+
+    /**
+     * Writes a telemetry record for every world after every tick, until
+     * {@link #stopTelemetry()}. The writer is closed when this game is disposed.
+     */
+    public void startTelemetry(TelemetryWriter writer) {
+        TelemetryWriter previous;
+        synchronized (worldLock) {
+            previous = telemetry;
+            telemetry = writer;
+        }
+        closeTelemetry(previous);
+    }
+
+    /**
+     * Flushes and closes the telemetry writer, if any; safe from any thread,
+     * e.g. a shutdown hook.
+     */
+    public void stopTelemetry() {
+        TelemetryWriter writer;
+        synchronized (worldLock) {
+            writer = telemetry;
+            telemetry = null;
+        }
+        closeTelemetry(writer);
+    }
+
+    // No tick can reach the writer any more; flush and report without holding up the simulation
+    private static void closeTelemetry(TelemetryWriter writer) {
+        if (writer == null) return;
+        try {
+            writer.close();
+            System.out.println(writer);
+        } catch (IOException e) {
+            System.err.println("Telemetry write failed: " + e.getMessage());
+        }
+    }
+
+    public long getSeed() {
+        return engine.getSeed();
+    }
+
+    /**
+     * Reports this game's SPACE presses, jumps and frames to a latency probe.
+     */
+    void setLatencyProbe(LatencyProbe probe) {
+        this.latencyProbe = probe;
+    }
+
+    public void setFrameTimeOverlayVisible(boolean visible) {
+        this.overlayVisible = visible;
+    }
+
+    /**
+     * Writes the per-phase frame and tick time histograms so far. May be
+     * called from any thread, e.g. a shutdown hook.
+     */
+    public void dumpFrameStats(PrintStream out) {
+        frameTimer.dump(out);
+    }
+
+    /**
+     * Lets the computer play the right-hand side instead of a second human.
+     * Its search runs on the simulation thread, outside the world lock, so it
+     * never holds up the renderer.
+     */
+    public void setCpuOpponent(CpuPlayer cpu) {
+        if (!isMultiplayer) {
+            throw new IllegalStateException("CPU opponent needs multiplayer mode");
+        }
+        setCpuPlayer(1, cpu);
+    }
+
+    public boolean hasCpuOpponent() {
+        return isMultiplayer && cpuPlayers[1] != null;
+    }
+
+    /**
+     * Lets the computer play any slot, e.g. both sides for an unattended demo
+     * or capture. Keys for that slot are ignored. Pass null to hand it back.
+     */
+    public void setCpuPlayer(int slot, CpuPlayer cpu) {
+        CpuPlayer[] players = cpuPlayers.clone();
+        players[slot] = cpu;
+        cpuPlayers = players;
+    }
+
+    /**
+     * Advances every world by one fixed tick. Runs on the simulation thread.
+     */
+    private void tick() {
+        tickStart = System.nanoTime();
+        CpuPlayer[] players = cpuPlayers;
+
+        // Snapshot under the lock, think without it
+        synchronized (worldLock) {
+            for (int slot = 0; slot < players.length; slot++) {
+                if (players[slot] == null) continue;
+                World world = engine.getWorld(slot);
+                if (cpuSnapshots[slot] == null) {
+                    cpuSnapshots[slot] = world.copy();
+                } else {
+                    cpuSnapshots[slot].copyFrom(world);
+                }
+            }
+        }
+        int cpuJumps = 0; // bit per slot
+        for (int slot = 0; slot < players.length; slot++) {
+            if (players[slot] != null && players[slot].decide(cpuSnapshots[slot])) cpuJumps |= 1 << slot;
+        }
+        long stepStart = frameTimer.mark(FrameTimer.Phase.CPU_PLAYER, tickStart);
+
+        // Presses and the step they belong to in one block, so a reset or a
+        // recording started from another thread can't fall between them
+        synchronized (worldLock) {
+            input.drain(simulation.getTickDeadline(), applyPress);
+            for (int slot = 0; slot < players.length; slot++) {
+                if ((cpuJumps & (1 << slot)) != 0) engine.jump(slot);
+            }
+            engine.step();
+            if (telemetry != null) telemetry.record(engine);
+            long collision = engine.takeCollisionNanos();
+            frameTimer.record(FrameTimer.Phase.STEP, System.nanoTime() - stepStart - collision);
+            frameTimer.record(FrameTimer.Phase.COLLISION, collision);
+
+            // Report each game over once: the loop keeps ticking while the end screen shows
+            boolean over = isMultiplayer ? engine.isAllGameOver() : engine.isGameOver(0);
+            if (over && !gameOverReported) {
+                gameOverReported = true;
+                if (gameStateListener != null) {
+                    gameStateListener.onGameExit(); // trigger EndGame screen
+                }
+                if (isMultiplayer) announceWinner();
+            } else if (!over) {
+                gameOverReported = false;
+            }
+        }
+        frameTimer.endTick(tickStart);
+    }
+
+    /**
+     * Maps key presses:
+     * - Player 1 (left): SPACE
+     * - Player 2 (right): UP arrow
+     * - F3: frame time overlay
+     * Jumps are queued for the tick covering this moment.
+     */
+    public void handleKeyPress(int keyCode) {
+        handleKeyPress(keyCode, System.nanoTime());
+    }
+
+    /**
+     * Like {@link #handleKeyPress(int)} for a press that happened at the
+     * given {@link System#nanoTime()}, e.g. stamped earlier by the input source.
+     */
+    public void handleKeyPress(int keyCode, long pressedNanos) {
+        // Same key codes in AWT and NEWT
+        if (keyCode == KeyEvent.VK_F3) {
+            overlayVisible = !overlayVisible;
+            return;
+        }
+        if (keyCode == KeyEvent.VK_SPACE || keyCode == KeyEvent.VK_UP) {
+            LatencyProbe probe = latencyProbe;
+            if (probe != null && keyCode == KeyEvent.VK_SPACE) probe.keyReceived(pressedNanos);
+            input.offer(keyCode, pressedNanos); // a full queue drops the press, it's counted
+            return;
+        }
+
+        // ESC exit
+        if (keyCode == KeyEvent.VK_ESCAPE && gameStateListener != null) {
+            gameStateListener.onGameExit();
+        }
+    }
+
+    /**
+     * Applies a queued press. Simulation thread, under the world lock.
+     */
+    private void applyPress(int keyCode, long pressedNanos) {
+        frameTimer.record(FrameTimer.Phase.INPUT, tickStart - pressedNanos);
+        // Player 1 (unless the computer is playing that side)
+        if (keyCode == KeyEvent.VK_SPACE) {
+            if (cpuPlayers[0] == null) {
+                engine.jump(0);
+                LatencyProbe probe = latencyProbe;
+                if (probe != null) probe.pressApplied(engine.getTick() + 1, System.nanoTime());
+            }
+            return;
+        }
+
+        // Player 2 (unless the computer is playing that side)
+        if (isMultiplayer && cpuPlayers[1] == null && keyCode == KeyEvent.VK_UP) {
+            engine.jump(1);
+        }
+    }
+
+    /**
+     * Bus carrying this game's events; subscribe to it for stats, UI or
+     * audio without touching the simulation thread.
+     */
+    public GameEventBus getEventBus() {
+        return events;
+    }
+
+    private static void logScore(GameEvent event) {
+        if (event.getType() == GameEventType.SCORE_PASSED) {
+            System.out.println("Player " + (event.getWorld() + 1) + " Score: " + event.getScore());
+        }
+    }
+
+    /** Key presses dropped because the input queue was full. */
+    public long getDroppedInputs() {
+        return input.getDropped();
+    }
+
+
+    public int getScore(int playerIdx) {
+        synchronized (worldLock) {
+            return engine.getScore(playerIdx);
+        }
+    }
+
+
+    public boolean isGameOver(int playerIndex) {
+        synchronized (worldLock) {
+            return engine.isGameOver(playerIndex);
+        }
+    }
+
+    /**
+     * Stops or resumes the simulation, e.g. while the game isn't visible,
+     * so nothing happens that the player can't see.
+     */
+    public void setPaused(boolean paused) {
+        simulation.setPaused(paused);
+    }
+
+    public void resetGamePublic() {
+        synchronized (worldLock) {
+            engine.reset();
+        }
+    }
+
+    @Override
+    public void init(GLAutoDrawable drawable) {
+        // set clear color if needed by caller; using same as before
+        if (scoreLog == null) scoreLog = events.subscribe("score-log", Game::logScore);
+        // initialize players and worlds
+        synchronized (worldLock) {
+            engine.reset();
+        }
+        // The simulation isn't running yet, so this thread may consume: drop stale presses
+        input.clear();
+        GpuStarfield stars = new GpuStarfield(starCount, worldMinX, worldMaxX, worldMinY, worldMaxY, engine.getSeed());
+        if (stars.init(drawable.getGL().getGL2())) {
+            gpuStars = stars;
+        } else {
+            System.err.println("GLSL unavailable, using the CPU starfield");
+            gpuStars = null;
+        }
+        simulation.start();
+    }
+
+    @Override
+    public void dispose(GLAutoDrawable drawable) {
+        simulation.stop();
+        stopRecording();
+        stopTelemetry();
+        if (scoreLog != null) {
+            scoreLog.close(); // after the last tick, so the final scores are printed
+            scoreLog = null;
+        }
+        GL2 gl = drawable.getGL().getGL2();
+        geometry.dispose(gl);
+        if (gpuStars != null) {
+            gpuStars.dispose(gl);
+            gpuStars = null;
+        }
+    }
+
+
+    @Override
+    public void display(GLAutoDrawable drawable) {
+        long frameStart = frameTimer.beginFrame();
+        FrameEvent frameEvent = FrameEvent.begin(frameNumber++, engine.getWorldCount());
+        GL2 gl = drawable.getGL().getGL2();
+        gl.glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
+
+        int surfaceWidth = drawable.getSurfaceWidth();
+        int surfaceHeight = drawable.getSurfaceHeight();
+
+        long lockStart = System.nanoTime();
+        long shownTick;
+        synchronized (worldLock) {
+            long now = frameTimer.mark(FrameTimer.Phase.LOCK, lockStart);
+            shownTick = engine.getTick();
+            float alpha = simulation.getAlpha(now);
+            gl.glViewport(0, 0, surfaceWidth, surfaceHeight);
+            renderWorlds(gl, surfaceWidth, surfaceHeight, alpha, now);
+        }
+        geometry.endFrame(gl);
+
+        if (overlayVisible) {
+            long overlayStart = System.nanoTime();
+            frameTimeOverlay.draw(gl, frameTimer, surfaceWidth, surfaceHeight);
+            frameTimer.mark(FrameTimer.Phase.OVERLAY, overlayStart);
+        }
+        frameTimer.endFrame(frameStart);
+        if (frameEvent != null) frameEvent.end(shownTick);
+        LatencyProbe probe = latencyProbe;
+        if (probe != null) probe.frameRendered(shownTick, System.nanoTime());
+    }
+
+
+    /**
+     * Renders every world in one pass over the whole surface. Split-screen
+     * viewports sit side by side in one projection, each {@link #VIEWPORT_WIDTH}
+     * world units wide, so the projection is set up once, the starfield is
+     * drawn once across all of them, and each kind of entity is drawn for
+     * every world in a row (sharing its bound mesh) with a per-viewport
+     * translate instead of a viewport switch.
+     *
+     * Rings never reach past half a viewport width, so worlds don't bleed
+     * into their neighbours without clipping.
+     *
+     * @param gl OpenGL context
+     * @param surfaceWidth surface width in pixels
+     * @param surfaceHeight surface height in pixels
+     * @param alpha interpolation factor between the previous and current tick
+     * @param start when rendering began, for the phase timings
+     */
+    private void renderWorlds(GL2 gl, int surfaceWidth, int surfaceHeight, float alpha, long start) {
+        int viewports = engine.getWorldCount();
+
+        // Set up projection scaled to one viewport's aspect ratio
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glLoadIdentity();
+        float aspect = (float) surfaceHeight * viewports / (float) surfaceWidth; // note swapped to match previous ortho style
+        // keep same world width (-10 to 10) per viewport but adjust vertical bounds using aspect
+        float halfWidth = VIEWPORT_WIDTH / 2 * viewports;
+        gl.glOrtho(-halfWidth, halfWidth, -10 * aspect, 10 * aspect, -1, 1);
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+        gl.glLoadIdentity();
+        // Shapes are tessellated for the size they'll have on this surface
+        geometry.setPixelsPerUnit(surfaceWidth / (float) viewports / VIEWPORT_WIDTH);
+
+        // The view offset is subtracted in double precision so positions stay
+        // exact however high the player climbs.
+        for (int i = 0; i < viewports; i++) {
+            cameraY[i] = engine.getWorld(i).getInterpolatedCameraY(alpha);
+        }
+
+        // Render background once, with each world's parallax in its viewport
+        if (gpuStars != null) {
+            gl.glPushMatrix();
+            gl.glTranslatef(viewportCenterX(0, viewports), 0, 0);
+            gpuStars.draw(gl, cameraY, viewports);
+            gl.glPopMatrix();
+        } else {
+            for (int i = 0; i < viewports; i++) {
+                gl.glPushMatrix();
+                gl.glTranslatef(viewportCenterX(i, viewports), 0, 0);
+                backgroundStars.draw(gl);
+                gl.glPopMatrix();
+            }
+        }
+        long phaseStart = frameTimer.mark(FrameTimer.Phase.STARS, start);
+
+        // Draw players, rings, color changers relative to each world's camera
+        for (int i = 0; i < viewports; i++) {
+            gl.glPushMatrix();
+            gl.glTranslatef(viewportCenterX(i, viewports), 0, 0);
+            ballRenderer.draw(gl, engine.getWorld(i).getPlayer(), cameraY[i], alpha);
+            gl.glPopMatrix();
+        }
+        phaseStart = frameTimer.mark(FrameTimer.Phase.BALLS, phaseStart);
+        for (int i = 0; i < viewports; i++) {
+            gl.glPushMatrix();
+            gl.glTranslatef(viewportCenterX(i, viewports), 0, 0);
+            for (Ring r : engine.getWorld(i).getRings()) ringRenderer.draw(gl, r, cameraY[i], alpha);
+            gl.glPopMatrix();
+        }
+        phaseStart = frameTimer.mark(FrameTimer.Phase.RINGS, phaseStart);
+        for (int i = 0; i < viewports; i++) {
+            gl.glPushMatrix();
+            gl.glTranslatef(viewportCenterX(i, viewports), 0, 0);
+            for (ColorChanger c : engine.getWorld(i).getColorChangers()) colorChangerRenderer.draw(gl, c, cameraY[i]);
+            gl.glPopMatrix();
+        }
+        frameTimer.mark(FrameTimer.Phase.CHANGERS, phaseStart);
+    }
+
+    /**
+     * X of viewport {@code i}'s center in the shared projection.
+     */
+    private static float viewportCenterX(int i, int viewports) {
+        return VIEWPORT_WIDTH * (i - (viewports - 1) / 2f);
+    }
+
+    @Override
+    public void reshape(GLAutoDrawable drawable, int x, int y, int width, int height) {
+        // update world bounds based on one viewport's aspect ratio, as in renderWorlds
+        float aspect = (float) height * engine.getWorldCount() / width;
+        worldMaxY = 10 * aspect;
+        worldMinY = -worldMaxY;
+        if (backgroundStars != null) backgroundStars.updateBounds(worldMinX, worldMaxX, worldMinY, worldMaxY);
+        if (gpuStars != null) gpuStars.updateBounds(worldMinX, worldMaxX, worldMinY, worldMaxY);
+    }
+    private void announceWinner() {
+        int score1 = engine.getScore(0);
+        int score2 = engine.getScore(1);
+
+        String message;
+        if (score1 > score2) {
+            message = "Player 1 Wins! " + score1 + " - " + score2;
+        } else if (score2 > score1) {
+            message = "Player 2 Wins! " + score2 + " - " + score1;
+        } else {
+            message = "It's a Tie! " + score1 + " - " + score2;
+        }
+
+        // Show in a Swing popup (console when running headless, e.g. capturing)
+        if (java.awt.GraphicsEnvironment.isHeadless()) {
+            System.out.println(message);
+        } else {
+            javax.swing.SwingUtilities.invokeLater(() ->
+                    javax.swing.JOptionPane.showMessageDialog(null, message, "Game Over", javax.swing.JOptionPane.INFORMATION_MESSAGE)
+            );
+        }
+
+        // Reset both players for next game
+        engine.reset();
+    }
+}
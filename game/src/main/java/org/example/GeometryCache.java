@@ -0,0 +1,288 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Retained-mode vertex buffers for ring and circle shapes. Each distinct
+ * shape (radii + segment count) is tessellated once into a VBO; after that a
+ * draw is one buffer bind plus a transform, with no per-vertex calls.
+ *
+ * Segment counts follow the shape's size on screen (see {@link Tessellation}),
+ * from the scale given to {@link #setPixelsPerUnit(float)}; each level of
+ * detail is its own cached mesh.
+ *
+ * Rings are generated with random radii, so shapes nobody drew for a while
+ * are deleted in {@link #endFrame(GL2)}. All methods must be called on the GL
+ * thread with the context current.
+ */
+public class GeometryCache {
+    private static final int FLOATS_PER_VERTEX = 2;
+    private static final int EVICT_AFTER_FRAMES = 120; // ~2 seconds at 60 FPS
+    private static final int ARCS_PER_RING = 4;
+    private static final float DEFAULT_PIXELS_PER_UNIT = 40f; // 800 px across a 20-unit view
+    private static final int MIN_CIRCLE_SEGMENTS = 8;
+    private static final int MIN_RING_SEGMENTS = 16; // full turn, so 4 per arc
+    private static final int MAX_SEGMENTS = 256;
+
+    /**
+     * One cached shape. Ring meshes hold four triangle strips back to back,
+     * one per quarter arc; circle meshes hold one triangle fan.
+     */
+    public static final class Mesh {
+        final long radii;
+        final int segments;
+        final int vbo;
+        final int vertexCount;
+        long lastUsedFrame;
+
+        Mesh(long radii, int segments, int vbo, int vertexCount) {
+            this.radii = radii;
+            this.segments = segments;
+            this.vbo = vbo;
+            this.vertexCount = vertexCount;
+        }
+
+        public int getVertexCount() { return vertexCount; }
+    }
+
+    private final MeshTable rings = new MeshTable();
+    private final MeshTable circles = new MeshTable();
+    private final int[] idScratch = new int[1];
+    private FloatBuffer scratch = newFloatBuffer(256);
+    private long frame;
+    private float pixelsPerUnit = DEFAULT_PIXELS_PER_UNIT;
+    private int boundVbo; // avoids rebinding when consecutive draws share a mesh
+    private boolean arraysEnabled;
+
+    /**
+     * Sets the current projection's scale, which picks the level of detail
+     * of the following draws.
+     */
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        this.pixelsPerUnit = pixelsPerUnit;
+    }
+
+    /**
+     * Binds the ring mesh for these radii at the level of detail its outer
+     * edge needs on screen.
+     */
+    public Mesh bindRing(GL2 gl, float innerRadius, float outerRadius) {
+        int segments = Tessellation.circleSegments(outerRadius * pixelsPerUnit, MIN_RING_SEGMENTS, MAX_SEGMENTS);
+        return bindRing(gl, innerRadius, outerRadius, segments / ARCS_PER_RING);
+    }
+
+    /**
+     * Binds the ring mesh for these radii, building it on first use.
+     * Follow with {@link #drawArc(GL2, Mesh, int)} for each quarter.
+     */
+    public Mesh bindRing(GL2 gl, float innerRadius, float outerRadius, int segmentsPerArc) {
+        long radii = ((long) Float.floatToIntBits(innerRadius) << 32) | (Float.floatToIntBits(outerRadius) & 0xFFFFFFFFL);
+        Mesh mesh = rings.get(radii, segmentsPerArc);
+        if (mesh == null) {
+            mesh = upload(gl, radii, segmentsPerArc, tessellateRing(innerRadius, outerRadius, segmentsPerArc));
+            rings.put(mesh);
+        }
+        bind(gl, mesh);
+        return mesh;
+    }
+
+    /**
+     * Draws one quarter arc (0..3) of a ring mesh bound by {@link #bindRing}.
+     */
+    public void drawArc(GL2 gl, Mesh ring, int arc) {
+        int perArc = ring.vertexCount / ARCS_PER_RING;
+        gl.glDrawArrays(GL2.GL_TRIANGLE_STRIP, arc * perArc, perArc);
+    }
+
+    /**
+     * Binds and draws a filled circle centered on the current origin, at the
+     * level of detail it needs on screen.
+     */
+    public void drawCircle(GL2 gl, float radius) {
+        drawCircle(gl, radius, Tessellation.circleSegments(radius * pixelsPerUnit, MIN_CIRCLE_SEGMENTS, MAX_SEGMENTS));
+    }
+
+    /**
+     * Binds and draws a filled circle centered on the current origin.
+     */
+    public void drawCircle(GL2 gl, float radius, int segments) {
+        long radii = Float.floatToIntBits(radius) & 0xFFFFFFFFL;
+        Mesh mesh = circles.get(radii, segments);
+        if (mesh == null) {
+            mesh = upload(gl, radii, segments, tessellateCircle(radius, segments));
+            circles.put(mesh);
+        }
+        bind(gl, mesh);
+        gl.glDrawArrays(GL2.GL_TRIANGLE_FAN, 0, mesh.vertexCount);
+    }
+
+    /**
+     * Restores plain immediate-mode state: no buffer bound, vertex array off.
+     * Call before drawing anything that doesn't go through this cache.
+     */
+    public void unbind(GL2 gl) {
+        if (arraysEnabled) {
+            gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, 0);
+            gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+            arraysEnabled = false;
+            boundVbo = 0;
+        }
+    }
+
+    /**
+     * Unbinds and drops shapes that went unused for {@value #EVICT_AFTER_FRAMES}
+     * frames. Call once per frame, after the last cached draw.
+     */
+    public void endFrame(GL2 gl) {
+        unbind(gl);
+        frame++;
+        if (frame % EVICT_AFTER_FRAMES == 0) {
+            long oldest = frame - EVICT_AFTER_FRAMES;
+            rings.evict(gl, oldest, idScratch);
+            circles.evict(gl, oldest, idScratch);
+        }
+    }
+
+    /**
+     * Deletes every buffer. The cache can be used again afterwards, e.g.
+     * when the drawable gets a new context.
+     */
+    public void dispose(GL2 gl) {
+        rings.evict(gl, Long.MAX_VALUE, idScratch);
+        circles.evict(gl, Long.MAX_VALUE, idScratch);
+        arraysEnabled = false;
+        boundVbo = 0;
+    }
+
+    public int size() {
+        return rings.size + circles.size;
+    }
+
+    private void bind(GL2 gl, Mesh mesh) {
+        mesh.lastUsedFrame = frame;
+        if (!arraysEnabled) {
+            gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+            arraysEnabled = true;
+        }
+        if (boundVbo != mesh.vbo) {
+            gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, mesh.vbo);
+            gl.glVertexPointer(FLOATS_PER_VERTEX, GL2.GL_FLOAT, 0, 0L);
+            boundVbo = mesh.vbo;
+        }
+    }
+
+    private Mesh upload(GL2 gl, long radii, int segments, FloatBuffer vertices) {
+        gl.glGenBuffers(1, idScratch, 0);
+        int vbo = idScratch[0];
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, vbo);
+        gl.glBufferData(GL2.GL_ARRAY_BUFFER, (long) vertices.remaining() * Float.BYTES, vertices, GL2.GL_STATIC_DRAW);
+        boundVbo = -1; // force the caller's bind to set the pointer
+        return new Mesh(radii, segments, vbo, vertices.remaining() / FLOATS_PER_VERTEX);
+    }
+
+    /** Same vertices the immediate-mode RingRenderer.drawArc emitted. */
+    private FloatBuffer tessellateRing(float r1, float r2, int segments) {
+        FloatBuffer buf = scratch(ARCS_PER_RING * (segments + 1) * 2 * FLOATS_PER_VERTEX);
+        for (int arc = 0; arc < ARCS_PER_RING; arc++) {
+            float startAngle = arc * 90;
+            float endAngle = (arc + 1) * 90;
+            for (int i = 0; i <= segments; i++) {
+                double angle = Math.toRadians(startAngle + (endAngle - startAngle) * i / segments);
+                buf.put((float) (r1 * Math.cos(angle))).put((float) (r1 * Math.sin(angle)));
+                buf.put((float) (r2 * Math.cos(angle))).put((float) (r2 * Math.sin(angle)));
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private FloatBuffer tessellateCircle(float r, int segments) {
+        FloatBuffer buf = scratch((segments + 2) * FLOATS_PER_VERTEX);
+        buf.put(0f).put(0f); // center of circle
+        for (int i = 0; i <= segments; i++) {
+            double angle = i * 2.0 * Math.PI / segments;
+            buf.put((float) (r * Math.cos(angle))).put((float) (r * Math.sin(angle)));
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private FloatBuffer scratch(int floats) {
+        if (scratch.capacity() < floats) {
+            scratch = newFloatBuffer(Math.max(floats, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        return scratch;
+    }
+
+    private static FloatBuffer newFloatBuffer(int floats) {
+        return ByteBuffer.allocateDirect(floats * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /**
+     * Open-addressing map from (radii bits, segments) to mesh, so per-frame
+     * lookups don't box keys. Rebuilt on eviction instead of supporting removal.
+     */
+    private static final class MeshTable {
+        private Mesh[] slots = new Mesh[64];
+        int size;
+
+        Mesh get(long radii, int segments) {
+            int mask = slots.length - 1;
+            for (int i = hash(radii, segments) & mask; ; i = (i + 1) & mask) {
+                Mesh m = slots[i];
+                if (m == null) return null;
+                if (m.radii == radii && m.segments == segments) return m;
+            }
+        }
+
+        void put(Mesh mesh) {
+            if ((size + 1) * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+            insert(slots, mesh);
+            size++;
+        }
+
+        /** Deletes meshes last used before {@code oldestKept}. */
+        void evict(GL2 gl, long oldestKept, int[] idScratch) {
+            Mesh[] old = slots;
+            slots = new Mesh[old.length];
+            size = 0;
+            for (Mesh m : old) {
+                if (m == null) continue;
+                if (m.lastUsedFrame < oldestKept) {
+                    idScratch[0] = m.vbo;
+                    gl.glDeleteBuffers(1, idScratch, 0);
+                } else {
+                    insert(slots, m);
+                    size++;
+                }
+            }
+        }
+
+        private void rehash(int capacity) {
+            Mesh[] old = slots;
+            slots = new Mesh[capacity];
+            for (Mesh m : old) {
+                if (m != null) insert(slots, m);
+            }
+        }
+
+        private static void insert(Mesh[] table, Mesh mesh) {
+            int mask = table.length - 1;
+            int i = hash(mesh.radii, mesh.segments) & mask;
+            while (table[i] != null) i = (i + 1) & mask;
+            table[i] = mesh;
+        }
+
+        private static int hash(long radii, int segments) {
+            long h = (radii ^ (radii >>> 29) ^ segments) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Starfield that lives entirely on the GPU. Each star's position, fall speed
+ * and brightness are uploaded once into a static vertex buffer; falling,
+ * wrapping and camera parallax are computed in the vertex shader from a few
+ * uniforms, so the CPU cost per frame doesn't depend on the star count.
+ *
+ * Stars are split into parallax layers (far, mid, near): nearer layers are
+ * fewer, brighter, larger, fall faster and move more as the camera climbs.
+ *
+ * Split-screen draws the field once across all viewports side by side; the
+ * shader picks each star's parallax from the viewport it falls in.
+ *
+ * Needs GLSL 1.20 (OpenGL 2.1). {@link #init(GL2)} returns false when shaders
+ * are unavailable so the caller can fall back to {@link BackgroundStars}.
+ */
+public class GpuStarfield {
+    public static final int DEFAULT_STAR_COUNT = 2000;
+    public static final int MAX_VIEWPORTS = 4;
+
+    // Fall speeds are whole multiples of 1/PERIOD heights per second, so the
+    // animation repeats exactly every PERIOD seconds and the shader only ever
+    // sees time as a phase in [0, 1): no precision loss in long sessions.
+    private static final long PERIOD_NANOS = 1000L * 1_000_000_000L;
+    private static final int FLOATS_PER_STAR = 4; // x, y (0..1 of the bounds), speed (periods), brightness
+    // Attribute 0 must be enabled for a compatibility-profile draw to run at all
+    // (it stands in for gl_Vertex, which the shader doesn't use), so a_star takes it
+    private static final int STAR_ATTRIBUTE = 0;
+
+    /**
+     * One parallax layer: share of the stars and how they look and move.
+     */
+    private static final class Layer {
+        final float share;
+        final int minSpeed, maxSpeed; // heights per PERIOD
+        final float minBrightness, maxBrightness;
+        final float pointSize;
+        final double parallax; // screen heights moved per screen height the camera climbs
+        int first, count;
+
+        Layer(float share, int minSpeed, int maxSpeed, float minBrightness, float maxBrightness,
+              float pointSize, double parallax) {
+            this.share = share;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.minBrightness = minBrightness;
+            this.maxBrightness = maxBrightness;
+            this.pointSize = pointSize;
+            this.parallax = parallax;
+        }
+    }
+
+    private static final String VERTEX_SHADER =
+            "#version 120\n"
+            + "attribute vec4 a_star;\n" // x, y, speed, brightness
+            + "uniform float u_phase;\n" // time / PERIOD, in [0, 1)
+            + "uniform float u_scroll[" + MAX_VIEWPORTS + "];\n" // this layer's parallax offset per viewport, in [0, 1)
+            + "uniform float u_viewports;\n"
+            + "uniform vec4 u_bounds;\n" // minX, maxX, minY, maxY of one viewport
+            + "varying float v_brightness;\n"
+            + "void main() {\n"
+            + "    float strip = a_star.x * u_viewports;\n" // x across all viewports
+            + "    int viewport = int(min(floor(strip), u_viewports - 1.0));\n"
+            + "    float fall = a_star.y - a_star.z * u_phase - u_scroll[viewport];\n"
+            + "    float wraps = floor(fall);\n"
+            // re-roll x within its viewport on every wrap, like the CPU version did
+            + "    float x = float(viewport) + fract(strip + 0.6180339887 * wraps);\n"
+            + "    float width = u_bounds.y - u_bounds.x;\n"
+            + "    vec2 pos = vec2(u_bounds.x + x * width, mix(u_bounds.z, u_bounds.w, fall - wraps));\n"
+            + "    gl_Position = gl_ModelViewProjectionMatrix * vec4(pos, 0.0, 1.0);\n"
+            + "    v_brightness = a_star.w;\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#version 120\n"
+            + "varying float v_brightness;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = vec4(vec3(v_brightness), 1.0);\n"
+            + "}\n";
+
+    private final Layer[] layers = {
+            new Layer(0.6f, 5, 15, 0.3f, 0.6f, 1.0f, 0.02),
+            new Layer(0.3f, 15, 30, 0.5f, 0.8f, 1.5f, 0.05),
+            new Layer(0.1f, 30, 50, 0.8f, 1.0f, 2.5f, 0.10)
+    };
+
+    private final int starCount;
+    private final long seed;
+    private final long startNanos = System.nanoTime();
+
+    private float minX, maxX, minY, maxY;
+
+    private int program;
+    private int vbo;
+    private int phaseLocation, scrollLocation, viewportsLocation, boundsLocation;
+    private final float[] scroll = new float[MAX_VIEWPORTS];
+
+    public GpuStarfield(int starCount, float minX, float maxX, float minY, float maxY, long seed) {
+        if (starCount <= 0) {
+            throw new IllegalArgumentException("starCount must be positive: " + starCount);
+        }
+        this.starCount = starCount;
+        this.seed = seed;
+        updateBounds(minX, maxX, minY, maxY);
+    }
+
+    /**
+     * Compiles the shader and uploads the stars. Call with the context current.
+     *
+     * @return false if this context can't run the shader; nothing is left allocated then
+     */
+    public boolean init(GL2 gl) {
+        if (!gl.isFunctionAvailable("glCreateShader")) {
+            return false;
+        }
+        program = buildProgram(gl);
+        if (program == 0) {
+            return false;
+        }
+        phaseLocation = gl.glGetUniformLocation(program, "u_phase");
+        scrollLocation = gl.glGetUniformLocation(program, "u_scroll");
+        viewportsLocation = gl.glGetUniformLocation(program, "u_viewports");
+        boundsLocation = gl.glGetUniformLocation(program, "u_bounds");
+
+        FloatBuffer data = generate();
+        int[] id = new int[1];
+        gl.glGenBuffers(1, id, 0);
+        vbo = id[0];
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, vbo);
+        gl.glBufferData(GL2.GL_ARRAY_BUFFER, (long) data.remaining() * Float.BYTES, data, GL2.GL_STATIC_DRAW);
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, 0);
+        return true;
+    }
+
+    /**
+     * Draws every layer in one pass across {@code viewports} copies of the
+     * bounds laid side by side, starting at minX in the current modelview.
+     * Only uniforms change per frame; nothing is uploaded.
+     *
+     * @param cameraY world-space Y at each viewport's center, for parallax
+     */
+    public void draw(GL2 gl, double[] cameraY, int viewports) {
+        if (viewports < 1 || viewports > MAX_VIEWPORTS) {
+            throw new IllegalArgumentException("viewports must be 1.." + MAX_VIEWPORTS + ": " + viewports);
+        }
+        double height = maxY - minY;
+        long elapsed = Math.floorMod(System.nanoTime() - startNanos, PERIOD_NANOS);
+
+        gl.glUseProgram(program);
+        gl.glUniform1f(phaseLocation, (float) ((double) elapsed / PERIOD_NANOS));
+        gl.glUniform4f(boundsLocation, minX, maxX, minY, maxY);
+        gl.glUniform1f(viewportsLocation, viewports);
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, vbo);
+        gl.glEnableVertexAttribArray(STAR_ATTRIBUTE);
+        gl.glVertexAttribPointer(STAR_ATTRIBUTE, FLOATS_PER_STAR, GL2.GL_FLOAT, false, 0, 0L);
+
+        for (Layer layer : layers) {
+            if (layer.count == 0) continue;
+            for (int v = 0; v < viewports; v++) {
+                // Reduced in double so a high camera doesn't cost the shader precision
+                double offset = cameraY[v] / height * layer.parallax;
+                scroll[v] = (float) (offset - Math.floor(offset));
+            }
+            gl.glUniform1fv(scrollLocation, MAX_VIEWPORTS, scroll, 0);
+            gl.glPointSize(layer.pointSize);
+            gl.glDrawArrays(GL2.GL_POINTS, layer.first, layer.count);
+        }
+
+        gl.glPointSize(1.0f);
+        gl.glDisableVertexAttribArray(STAR_ATTRIBUTE);
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER, 0);
+        gl.glUseProgram(0);
+    }
+
+    /**
+     * Updates screen bounds (call this if window is resized). Stars are stored
+     * relative to the bounds, so nothing is re-uploaded.
+     */
+    public void updateBounds(float minX, float maxX, float minY, float maxY) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    public void dispose(GL2 gl) {
+        if (vbo != 0) {
+            gl.glDeleteBuffers(1, new int[] {vbo}, 0);
+            vbo = 0;
+        }
+        if (program != 0) {
+            gl.glDeleteProgram(program);
+            program = 0;
+        }
+    }
+
+    public int getStarCount() {
+        return starCount;
+    }
+
+    private FloatBuffer generate() {
+        Random random = new Random(seed);
+        FloatBuffer data = ByteBuffer.allocateDirect(starCount * FLOATS_PER_STAR * Float.BYTES)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        int first = 0;
+        for (int l = 0; l < layers.length; l++) {
+            Layer layer = layers[l];
+            int count = l == layers.length - 1 ? starCount - first : Math.round(starCount * layer.share);
+            layer.first = first;
+            layer.count = count;
+            for (int i = 0; i < count; i++) {
+                data.put(random.nextFloat());
+                data.put(random.nextFloat());
+                data.put(layer.minSpeed + random.nextInt(layer.maxSpeed - layer.minSpeed + 1));
+                data.put(layer.minBrightness + random.nextFloat() * (layer.maxBrightness - layer.minBrightness));
+            }
+            first += count;
+        }
+        data.flip();
+        return data;
+    }
+
+    private static int buildProgram(GL2 gl) {
+        int vertex = compile(gl, GL2.GL_VERTEX_SHADER, VERTEX_SHADER);
+        int fragment = compile(gl, GL2.GL_FRAGMENT_SHADER, FRAGMENT_SHADER);
+        if (vertex == 0 || fragment == 0) {
+            if (vertex != 0) gl.glDeleteShader(vertex);
+            if (fragment != 0) gl.glDeleteShader(fragment);
+            return 0;
+        }
+        int program = gl.glCreateProgram();
+        gl.glAttachShader(program, vertex);
+        gl.glAttachShader(program, fragment);
+        gl.glBindAttribLocation(program, STAR_ATTRIBUTE, "a_star");
+        gl.glLinkProgram(program);
+        gl.glDetachShader(program, vertex);
+        gl.glDetachShader(program, fragment);
+        gl.glDeleteShader(vertex);
+        gl.glDeleteShader(fragment);
+
+        int[] status = new int[1];
+        gl.glGetProgramiv(program, GL2.GL_LINK_STATUS, status, 0);
+        if (status[0] == 0) {
+            gl.glGetProgramiv(program, GL2.GL_INFO_LOG_LENGTH, status, 0);
+            byte[] log = new byte[Math.max(1, status[0])];
+            gl.glGetProgramInfoLog(program, log.length, status, 0, log, 0);
+            System.err.println("Starfield shader link failed: " + new String(log, 0, status[0], StandardCharsets.UTF_8));
+            gl.glDeleteProgram(program);
+            return 0;
+        }
+        return program;
+    }
+
+    private static int compile(GL2 gl, int type, String source) {
+        int shader = gl.glCreateShader(type);
+        gl.glShaderSource(shader, 1, new String[] {source}, new int[] {source.length()}, 0);
+        gl.glCompileShader(shader);
+        int[] status = new int[1];
+        gl.glGetShaderiv(shader, GL2.GL_COMPILE_STATUS, status, 0);
+        if (status[0] == 0) {
+            gl.glGetShaderiv(shader, GL2.GL_INFO_LOG_LENGTH, status, 0);
+            byte[] log = new byte[Math.max(1, status[0])];
+            gl.glGetShaderInfoLog(shader, log.length, status, 0, log, 0);
+            System.err.println("Starfield shader compile failed: " + new String(log, 0, status[0], StandardCharsets.UTF_8));
+            gl.glDeleteShader(shader);
+            return 0;
+        }
+        return shader;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import com.jogamp.opengl.GLCapabilities;
+import com.jogamp.opengl.GLDrawableFactory;
+import com.jogamp.opengl.GLOffscreenAutoDrawable;
+import com.jogamp.opengl.GLProfile;
+import org.example.engine.CpuPlayer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records a computer-played game to disk without a window: renders
+ * {@link Game} into an offscreen framebuffer and captures it with a
+ * {@link FrameRecorder}. Works with Mesa's software renderer, e.g. on a
+ * server: {@code LIBGL_ALWAYS_SOFTWARE=1 xvfb-run java ... HeadlessCapture}.
+ *
+ * Frames are paced in real time, since the game simulates in real time.
+ *
+ * Usage: HeadlessCapture [--out PATH] [--format png|yuv] [--frames N] [--fps N]
+ *        [--width N] [--height N] [--seed N] [--multiplayer] [--cpu easy|normal|hard]
+ *        [--threads N]
+ */
+public class HeadlessCapture {
+
+    public static void main(String[] args) throws IOException {
+        String out = "capture";
+        String format = "png";
+        int frames = 600;
+        int fps = 60;
+        int width = 800;
+        int height = 800;
+        long seed = System.nanoTime();
+        boolean multiplayer = false;
+        CpuPlayer.Difficulty difficulty = CpuPlayer.Difficulty.HARD;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--multiplayer")) {
+                multiplayer = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--out": out = value; break;
+                case "--format": format = value; break;
+                case "--frames": frames = Integer.parseInt(value); break;
+                case "--fps": fps = Integer.parseInt(value); break;
+                case "--width": width = Integer.parseInt(value); break;
+                case "--height": height = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--cpu": difficulty = CpuPlayer.Difficulty.valueOf(value.toUpperCase(Locale.ROOT)); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                default: usage("Unknown option " + option);
+            }
+        }
+
+        FrameEncoder encoder;
+        if (format.equals("png")) {
+            encoder = FrameEncoder.png(Paths.get(out));
+        } else if (format.equals("yuv")) {
+            encoder = FrameEncoder.yuv(Paths.get(out.endsWith(".y4m") ? out : out + ".y4m"), fps);
+        } else {
+            usage("Unknown format " + format);
+            return;
+        }
+
+        GLProfile.initSingleton();
+        GLProfile glp = GLProfile.get(GLProfile.GL2);
+        GLCapabilities caps = new GLCapabilities(glp);
+        caps.setOnscreen(false);
+        caps.setFBO(true);
+        caps.setDoubleBuffered(false);
+        GLOffscreenAutoDrawable drawable = GLDrawableFactory.getFactory(glp)
+                .createOffscreenAutoDrawable(null, caps, null, width, height);
+
+        Game game = new Game(multiplayer, seed);
+        for (int slot = 0; slot < (multiplayer ? 2 : 1); slot++) {
+            game.setCpuPlayer(slot, new CpuPlayer(difficulty));
+        }
+        // Keep playing: a finished singleplayer round starts over (multiplayer resets itself)
+        game.setGameStateListener(() -> {
+            if (!game.isMultiplayer()) game.resetGamePublic();
+        });
+
+        FrameRecorder recorder = new FrameRecorder(encoder, threads, threads * 2 + 2);
+        drawable.addGLEventListener(game);
+        drawable.addGLEventListener(recorder);
+        System.out.printf("Capturing %d frames at %dx%d, seed %d, using %s%n",
+                frames, width, height, seed, drawable.getContext().getGLVersion());
+
+        long frameNanos = 1_000_000_000L / fps;
+        long next = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            drawable.display();
+            next += frameNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (wait < -frameNanos) {
+                next = System.nanoTime(); // rendering is slower than the frame rate; don't try to catch up
+            }
+        }
+        drawable.destroy(); // disposes the game and drains the recorder
+        System.out.println("Wrote " + recorder.getEncodedFrames() + " frames to " + out
+                + (recorder.getDroppedFrames() > 0 ? " (" + recorder.getDroppedFrames() + " dropped)" : ""));
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: HeadlessCapture [--out PATH] [--format png|yuv] [--frames N] [--fps N]"
+                + " [--width N] [--height N] [--seed N] [--multiplayer] [--cpu easy|normal|hard] [--threads N]");
+        System.exit(2);
+    }
+}
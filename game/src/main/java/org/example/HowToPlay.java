@@ -21,7 +21,7 @@ public class HowToPlay {
     }
 
     private JPanel createHowToPlayScreen() {
-        JPanel panel = new BackgroundPanel();
+        JPanel panel = new MenuBackgroundPanel();
         panel.setLayout(new BorderLayout(0, 0));
         panel.setFocusable(true);
 
@@ -183,53 +183,4 @@ public class HowToPlay {
 
         return button;
     }
-
-    /**
-     * Custom panel that renders the starfield background with gradient
-     */
-    private static class BackgroundPanel extends JPanel {
-        private long startTime = System.currentTimeMillis();
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            // Draw gradient background
-            java.awt.GradientPaint gradient = new java.awt.GradientPaint(
-                    0, 0, new Color(0x0A0A1A),
-                    0, getHeight(), new Color(0x1E1E2E)
-            );
-            g2d.setPaint(gradient);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
-
-            // Draw stars with twinkling effect
-            java.util.Random random = new java.util.Random(42);
-            int starCount = 200;
-            long elapsed = System.currentTimeMillis() - startTime;
-
-            for (int i = 0; i < starCount; i++) {
-                int x = random.nextInt(getWidth());
-                int y = random.nextInt(getHeight());
-
-                // Twinkling effect based on time and star index
-                float twinkle = (float) Math.sin((elapsed + i * 100) / 500.0f);
-                float brightness = 0.3f + (0.7f * (twinkle + 1) / 2);
-                brightness = Math.min(1.0f, brightness);
-
-                // Draw star with varying size based on brightness
-                int size = brightness > 0.7f ? 3 : 2;
-                g2d.setColor(new Color(brightness, brightness, brightness * 0.9f));
-                g2d.fillOval(x, y, size, size);
-            }
-
-            // Draw subtle glow effect
-            g2d.setColor(new Color(0, 100, 200, 10));
-            for (int i = 0; i < 3; i++) {
-                g2d.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
-            }
-        }
-    }
 }
@@ -0,0 +1,183 @@
+package org.example;
+
+import org.example.engine.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long a jump takes from key press to screen. It injects a
+ * synthetic SPACE press into the window's own key listener, then follows
+ * it through {@link Game#handleKeyPress}, the tick that applies the jump,
+ * the first frame drawing that tick, and the end of that frame's
+ * {@code display()} (buffer swap for NEWT, paint to screen for GLJPanel).
+ *
+ * One press is in flight at a time, with randomized gaps so presses land
+ * at every phase of the frame and tick. A press that doesn't reach the
+ * screen within {@value #TIMEOUT_MILLIS} ms (e.g. the ball was already
+ * dead) is counted as lost.
+ *
+ * Each stage gets its own {@link LatencyHistogram}; the report is labeled
+ * with the backend and pacing, so runs under different settings can be
+ * appended to one file and compared.
+ */
+class LatencyProbe {
+    private static final long TIMEOUT_MILLIS = 1000;
+    private static final long MIN_GAP_MILLIS = 150;
+    private static final long MAX_GAP_MILLIS = 400;
+
+    private enum Stage {
+        HANDLER("key to handler"),
+        TICK("handler to tick"),
+        FRAME("tick to frame"),
+        SWAP("frame to swap"),
+        TOTAL("key to swap");
+
+        final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+    }
+
+    // Progress of the press in flight; each step is taken by a different thread
+    private static final int IDLE = 0, INJECTED = 1, RECEIVED = 2, APPLIED = 3, RENDERED = 4;
+
+    private final String backend;
+    private final FramePacer pacer;
+    private final Runnable injectKey;
+    private final int samples;
+    private final Path report;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+    private volatile int state = IDLE;
+    private volatile long injectedAt, receivedAt, appliedAt, renderedAt;
+    private volatile long appliedTick; // engine tick count once the jump has been stepped
+    private volatile long completed, lost;
+    private Thread thread;
+
+    /**
+     * @param backend label for the report, e.g. "GLJPanel"
+     * @param injectKey posts a SPACE press to the game window's event queue
+     * @param samples presses to measure before reporting and exiting
+     * @param report file to append the CSV report to, or null for the console only
+     */
+    LatencyProbe(String backend, FramePacer pacer, Runnable injectKey, int samples, Path report) {
+        this.backend = backend;
+        this.pacer = pacer;
+        this.injectKey = injectKey;
+        this.samples = samples;
+        this.report = report;
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+        pacer.setFrameListener(this::frameDone);
+    }
+
+    synchronized void start() {
+        if (thread != null) return;
+        thread = new Thread(this::run, "latency-probe");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** The SPACE press reached the game; any thread. */
+    void keyReceived(long nanos) {
+        if (state != INJECTED) return; // a real press, or a late one
+        receivedAt = nanos;
+        state = RECEIVED;
+    }
+
+    /**
+     * The press was applied on the simulation thread; it shows once the
+     * engine has stepped to {@code tickAfterStep}.
+     */
+    void pressApplied(long tickAfterStep, long nanos) {
+        if (state != RECEIVED) return;
+        appliedTick = tickAfterStep;
+        appliedAt = nanos;
+        state = APPLIED;
+    }
+
+    /** A frame drawing engine tick {@code shownTick} finished drawing. */
+    void frameRendered(long shownTick, long nanos) {
+        if (state != APPLIED || shownTick < appliedTick) return;
+        renderedAt = nanos;
+        state = RENDERED;
+    }
+
+    /** The pacer's display() call returned: the frame is on its way to the screen. */
+    private void frameDone(long nanos) {
+        if (state != RENDERED) return;
+        record(Stage.HANDLER, receivedAt - injectedAt);
+        record(Stage.TICK, appliedAt - receivedAt);
+        record(Stage.FRAME, renderedAt - appliedAt);
+        record(Stage.SWAP, nanos - renderedAt);
+        record(Stage.TOTAL, nanos - injectedAt);
+        completed++;
+        state = IDLE;
+    }
+
+    private void record(Stage stage, long nanos) {
+        histograms[stage.ordinal()].record(nanos);
+    }
+
+    private void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (completed < samples) {
+            LockSupport.parkNanos(random.nextLong(MIN_GAP_MILLIS, MAX_GAP_MILLIS) * 1_000_000L);
+            if (!pacer.isAnimating() || pacer.isPaused()) continue; // game not on screen
+
+            injectedAt = System.nanoTime();
+            state = INJECTED;
+            injectKey.run();
+
+            long deadline = injectedAt + TIMEOUT_MILLIS * 1_000_000L;
+            while (state != IDLE && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(1_000_000L);
+            }
+            if (state != IDLE) {
+                state = IDLE;
+                lost++;
+            }
+        }
+        report();
+        System.exit(0);
+    }
+
+    /**
+     * Writes the distribution of every stage to the console and, if set,
+     * appends it to the report file.
+     */
+    void report() {
+        String config = backend + " " + pacer.getMode().name().toLowerCase(Locale.ROOT)
+                + (pacer.getMode() == FramePacer.Mode.UNCAPPED ? "" : " " + pacer.getTargetFps() + "fps");
+        System.out.println("Input latency, " + config + ": " + completed + " presses, " + lost + " lost");
+        write(System.out, config, true);
+        if (report == null) return;
+        try {
+            boolean header = !Files.exists(report) || Files.size(report) == 0;
+            try (PrintStream out = new PrintStream(Files.newOutputStream(report,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), false, "UTF-8")) {
+                write(out, config, header);
+            }
+            System.out.println("Latency report appended to " + report);
+        } catch (IOException e) {
+            System.err.println("Cannot write latency report " + report + ": " + e.getMessage());
+        }
+    }
+
+    private void write(PrintStream out, String config, boolean header) {
+        if (header) out.println("config,stage,count,p50_us,p99_us,p999_us,max_us");
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram h = histograms[stage.ordinal()];
+            out.printf(Locale.ROOT, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f%n", config, stage.label, h.getCount(),
+                    h.quantile(0.50) / 1e3, h.quantile(0.99) / 1e3, h.quantile(0.999) / 1e3, h.getMax() / 1e3);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import  com.jogamp.newt.opengl.GLWindow;
+import com.jogamp.newt.event.WindowAdapter;
+import com.jogamp.opengl.*;
+
+public class  Main {
+    public static void main(String[] args) {
+        SessionOptions.startFlightRecording();
+
+        GLProfile.initSingleton();
+        GLProfile glp = GLProfile.get(GLProfile.GL2);
+
+        GLCapabilities caps = new GLCapabilities(glp);
+        caps.setDoubleBuffered(true);
+        caps.setHardwareAccelerated(true);
+
+        GLWindow window = GLWindow.create(caps);
+        window.setTitle("Color Switch Clone");
+        window.setSize(400, 800);
+        window.setVisible(true);
+
+        boolean multiplayer = false;
+        Game game = SessionOptions.createGame(multiplayer);
+        window.addGLEventListener(game);
+        SessionOptions.attachCapture(window, 60);
+
+// Keyboard input
+        window.addKeyListener(new com.jogamp.newt.event.KeyAdapter() {
+            @Override
+            public void keyPressed(com.jogamp.newt.event.KeyEvent e) {
+                game.handleKeyPress(e.getKeyCode());
+            }
+        });
+
+        FramePacer pacer = SessionOptions.createPacer(window);
+        pacer.start();
+
+        // Latency measurement: a synthetic SPACE through the NEWT event queue and key listener
+        LatencyProbe probe = SessionOptions.createLatencyProbe("NEWT GLWindow", pacer, () ->
+                window.enqueueEvent(false, com.jogamp.newt.event.KeyEvent.create(
+                        com.jogamp.newt.event.KeyEvent.EVENT_KEY_PRESSED, window, System.currentTimeMillis(), 0,
+                        com.jogamp.newt.event.KeyEvent.VK_SPACE, com.jogamp.newt.event.KeyEvent.VK_SPACE, ' ')));
+        if (probe != null) {
+            SessionOptions.attachLatencyProbe(game, probe);
+            probe.start();
+        }
+
+        window.addWindowListener(new com.jogamp.newt.event.WindowAdapter() {
+            @Override
+            public void windowDestroyNotify(com.jogamp.newt.event.WindowEvent e) {
+                pacer.stop();
+                System.exit(0);
+            }
+
+            @Override
+            public void windowGainedFocus(com.jogamp.newt.event.WindowEvent e) {
+                pacer.setFocused(true);
+            }
+
+            @Override
+            public void windowLostFocus(com.jogamp.newt.event.WindowEvent e) {
+                pacer.setFocused(false);
+            }
+        });
+
+    }
+}
@@ -0,0 +1,242 @@
+package org.example;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The starry gradient behind the menu screens, shared by every
+ * {@link MenuBackgroundPanel}.
+ *
+ * The gradient, border glow and the stars that don't twinkle are drawn once
+ * into a {@link VolatileImage} (kept in video memory where possible) and only
+ * redrawn when the size changes or the image is lost. A few stars twinkle:
+ * each has a handful of pre-rendered brightness sprites, and a timer repaints
+ * just the few pixels around a star when its brightness steps, rather than
+ * the whole screen. The timer runs only while a menu is showing and
+ * twinkling is allowed (see {@link RenderLifecycle}).
+ *
+ * The menus are cards of one panel and so share a size; the cached layer
+ * is for the last size painted.
+ *
+ * Everything here runs on the event dispatch thread.
+ */
+final class MenuBackdrop {
+    static final MenuBackdrop SHARED = new MenuBackdrop();
+
+    private static final int STAR_COUNT = 200;
+    private static final int TWINKLE_EVERY = 4; // one star in four twinkles
+    private static final int LEVELS = 12; // twinkle brightness steps
+    private static final int TIMER_MILLIS = 50;
+    private static final double TWINKLE_MILLIS = 500.0; // sin() time scale
+    private static final int SPRITE_SIZE = 3;
+    private static final Color TOP = new Color(0x0A0A1A);
+    private static final Color BOTTOM = new Color(0x1E1E2E);
+    private static final Color GLOW = new Color(0, 100, 200, 10);
+
+    // Star layout in 0..1 of the panel size, fixed for the session
+    private final float[] starX = new float[STAR_COUNT];
+    private final float[] starY = new float[STAR_COUNT];
+    private final float[] staticBrightness = new float[STAR_COUNT];
+    private final int[] twinkling; // indices of the twinkling stars
+
+    // Pixel positions and current sprite of the twinkling stars for the cached size
+    private int width, height;
+    private final int[] pixelX;
+    private final int[] pixelY;
+    private final int[] level;
+    private final BufferedImage[] sprites = new BufferedImage[LEVELS];
+    private VolatileImage layer;
+
+    private final List<JComponent> panels = new ArrayList<>();
+    private final Timer timer = new Timer(TIMER_MILLIS, e -> twinkle());
+    private final long startNanos = System.nanoTime();
+    private boolean animating = true;
+    private boolean hidden;
+    private long hiddenPaints;
+
+    private MenuBackdrop() {
+        Random random = new Random(42);
+        for (int i = 0; i < STAR_COUNT; i++) {
+            starX[i] = random.nextFloat();
+            starY[i] = random.nextFloat();
+            staticBrightness[i] = 0.4f + random.nextFloat() * 0.5f;
+        }
+        twinkling = new int[(STAR_COUNT + TWINKLE_EVERY - 1) / TWINKLE_EVERY];
+        for (int i = 0; i < twinkling.length; i++) twinkling[i] = i * TWINKLE_EVERY;
+        pixelX = new int[twinkling.length];
+        pixelY = new int[twinkling.length];
+        level = new int[twinkling.length];
+        for (int l = 0; l < LEVELS; l++) sprites[l] = sprite(0.3f + 0.7f * l / (LEVELS - 1));
+    }
+
+    /**
+     * Lets the twinkle timer repaint {@code panel} while it is showing.
+     */
+    void attach(JComponent panel) {
+        panels.add(panel);
+        showingChanged();
+    }
+
+    void detach(JComponent panel) {
+        panels.remove(panel);
+        showingChanged();
+    }
+
+    /**
+     * Allows or stops twinkling regardless of what is showing, e.g. while
+     * the window is unfocused.
+     */
+    void setAnimating(boolean animating) {
+        this.animating = animating;
+        showingChanged();
+    }
+
+    /**
+     * Tells the backdrop nobody can see it (minimized, or the game is up),
+     * so paints in the meantime are counted.
+     */
+    void setHidden(boolean hidden) {
+        this.hidden = hidden;
+    }
+
+    /** Paints while hidden; should stay near zero. */
+    long getHiddenPaints() {
+        return hiddenPaints;
+    }
+
+    /**
+     * Starts the twinkle timer while any attached panel is showing, stops it otherwise.
+     */
+    void showingChanged() {
+        boolean showing = false;
+        for (JComponent panel : panels) showing |= panel.isShowing();
+        showing &= animating;
+        if (showing && !timer.isRunning()) {
+            timer.start();
+        } else if (!showing && timer.isRunning()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Paints the backdrop into the clip of {@code g}.
+     */
+    void paint(Graphics g, JComponent panel) {
+        int w = panel.getWidth(), h = panel.getHeight();
+        if (w <= 0 || h <= 0) return;
+        if (hidden) hiddenPaints++;
+        if (w != width || h != height) resize(w, h);
+
+        GraphicsConfiguration gc = panel.getGraphicsConfiguration();
+        if (gc == null) {
+            drawLayer((Graphics2D) g.create()); // not on screen (e.g. printed); nothing to cache for
+        } else {
+            // A volatile image can lose its contents at any time; redraw until it sticks
+            do {
+                int status = layer == null ? VolatileImage.IMAGE_INCOMPATIBLE : layer.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    if (layer != null) layer.flush();
+                    layer = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+                    drawLayer(layer.createGraphics());
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    drawLayer(layer.createGraphics());
+                }
+                g.drawImage(layer, 0, 0, null);
+            } while (layer.contentsLost());
+        }
+
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < twinkling.length; i++) {
+            int x = pixelX[i], y = pixelY[i];
+            if (clip == null || clip.intersects(x, y, SPRITE_SIZE, SPRITE_SIZE)) {
+                g.drawImage(sprites[level[i]], x, y, null);
+            }
+        }
+    }
+
+    private void resize(int w, int h) {
+        width = w;
+        height = h;
+        for (int i = 0; i < twinkling.length; i++) {
+            pixelX[i] = (int) (starX[twinkling[i]] * w);
+            pixelY[i] = (int) (starY[twinkling[i]] * h);
+            level[i] = twinkleLevel(i, elapsedMillis());
+        }
+        if (layer != null) {
+            layer.flush();
+            layer = null;
+        }
+    }
+
+    /**
+     * Gradient, glow and non-twinkling stars; disposes {@code g}.
+     */
+    private void drawLayer(Graphics2D g) {
+        try {
+            g.setPaint(new GradientPaint(0, 0, TOP, 0, height, BOTTOM));
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (int i = 0; i < STAR_COUNT; i++) {
+                if (i % TWINKLE_EVERY == 0) continue;
+                float b = staticBrightness[i];
+                int size = b > 0.7f ? 3 : 2;
+                g.setColor(new Color(b, b, b * 0.9f));
+                g.fillOval((int) (starX[i] * width), (int) (starY[i] * height), size, size);
+            }
+            g.setColor(GLOW);
+            g.drawRect(0, 0, width - 1, height - 1);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Steps every twinkling star and repaints only the ones whose sprite changed.
+     */
+    private void twinkle() {
+        double elapsed = elapsedMillis();
+        for (int i = 0; i < twinkling.length; i++) {
+            int next = twinkleLevel(i, elapsed);
+            if (next == level[i]) continue;
+            level[i] = next;
+            for (JComponent panel : panels) {
+                if (panel.isShowing()) panel.paintImmediately(pixelX[i], pixelY[i], SPRITE_SIZE, SPRITE_SIZE);
+            }
+        }
+    }
+
+    private int twinkleLevel(int i, double elapsedMillis) {
+        double twinkle = Math.sin((elapsedMillis + twinkling[i] * 100) / TWINKLE_MILLIS);
+        return (int) Math.round((twinkle + 1) / 2 * (LEVELS - 1));
+    }
+
+    private double elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1e6;
+    }
+
+    private static BufferedImage sprite(float brightness) {
+        BufferedImage image = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(new Color(brightness, brightness, brightness * 0.9f));
+        int size = brightness > 0.7f ? 3 : 2;
+        g.fillOval(0, 0, size, size);
+        g.dispose();
+        return image;
+    }
+}
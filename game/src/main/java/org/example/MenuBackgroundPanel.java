@@ -0,0 +1,36 @@
+package org.example;
+
+import javax.swing.JPanel;
+import java.awt.Graphics;
+import java.awt.event.HierarchyEvent;
+
+/**
+ * Panel that renders the shared starfield background with gradient for menus.
+ */
+class MenuBackgroundPanel extends JPanel {
+    private final MenuBackdrop backdrop = MenuBackdrop.SHARED;
+
+    MenuBackgroundPanel() {
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) backdrop.showingChanged();
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        backdrop.attach(this);
+    }
+
+    @Override
+    public void removeNotify() {
+        backdrop.detach(this);
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // Opaque: the backdrop covers every pixel, so no super call to clear first
+        backdrop.paint(g, this);
+    }
+}
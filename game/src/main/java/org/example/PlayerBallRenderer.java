@@ -0,0 +1,38 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import org.example.engine.PlayerBall;
+
+/**
+ * Draws the {@link PlayerBall} as a filled circle in its current color.
+ */
+public class PlayerBallRenderer {
+    private static final float[][] COLORS = {
+            {0.0f, 1.0f, 1.0f}, // Cyan
+            {1.0f, 1.0f, 0.0f}, // Yellow
+            {1.0f, 0.0f, 1.0f}, // Magenta
+            {0.5f, 0.0f, 1.0f}  // Purple
+    };
+
+    private final GeometryCache geometry;
+
+    public PlayerBallRenderer() {
+        this(new GeometryCache());
+    }
+
+    public PlayerBallRenderer(GeometryCache geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * @param cameraY world-space Y at the viewport center
+     * @param alpha interpolation factor between the previous and current tick
+     */
+    public void draw(GL2 gl, PlayerBall ball, double cameraY, float alpha) {
+        gl.glColor3fv(COLORS[ball.getColorIndex()], 0);
+        gl.glPushMatrix();
+        gl.glTranslatef(ball.getX(), (float) (ball.getInterpolatedY(alpha) - cameraY), 0);
+        geometry.drawCircle(gl, ball.getRadius());
+        gl.glPopMatrix();
+    }
+}
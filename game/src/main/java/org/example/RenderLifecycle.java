@@ -0,0 +1,131 @@
+package org.example;
+
+import javax.swing.JComponent;
+import java.awt.Frame;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * Keeps only what the user can see rendering. The game's {@link FramePacer}
+ * runs while the game is the visible card and the window isn't minimized,
+ * dropping to its power-save rate while unfocused; the {@link Game}'s
+ * simulation is paused along with it, so the ball can't die unseen. The {@link MenuBackdrop}
+ * twinkles while a menu is visible, the window isn't minimized and it has
+ * focus.
+ *
+ * Either side may be null, e.g. a game window without menus.
+ */
+final class RenderLifecycle {
+    private final FramePacer pacer;
+    private final MenuBackdrop menus;
+    private Game game; // the one on screen, if any
+
+    private boolean gameVisible;
+    private boolean focused = true;
+    private boolean minimized;
+    private long pauses; // times the game stopped rendering
+
+    RenderLifecycle(FramePacer pacer, MenuBackdrop menus) {
+        this.pacer = pacer;
+        this.menus = menus;
+        update();
+    }
+
+    /**
+     * Follows the window's focus and minimization, and whether
+     * {@code gameScreen} is the visible card.
+     */
+    void watch(Frame frame, JComponent gameScreen) {
+        WindowAdapter windowListener = new WindowAdapter() {
+            @Override
+            public void windowGainedFocus(WindowEvent e) {
+                setFocused(true);
+            }
+
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                setFocused(false);
+            }
+
+            @Override
+            public void windowStateChanged(WindowEvent e) {
+                setMinimized((e.getNewState() & Frame.ICONIFIED) != 0);
+            }
+        };
+        frame.addWindowFocusListener(windowListener);
+        frame.addWindowStateListener(windowListener);
+        gameScreen.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                setGameVisible(true);
+            }
+
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                setGameVisible(false);
+            }
+        });
+        setGameVisible(gameScreen.isShowing());
+    }
+
+    /**
+     * Follows a new game; the previous one is left paused.
+     */
+    synchronized void setGame(Game game) {
+        if (this.game != null && this.game != game) this.game.setPaused(true);
+        this.game = game;
+        update();
+    }
+
+    synchronized void setGameVisible(boolean visible) {
+        this.gameVisible = visible;
+        update();
+    }
+
+    synchronized void setFocused(boolean focused) {
+        this.focused = focused;
+        update();
+    }
+
+    synchronized void setMinimized(boolean minimized) {
+        this.minimized = minimized;
+        update();
+    }
+
+    private void update() {
+        boolean pause = !gameVisible || minimized;
+        if (game != null) game.setPaused(pause);
+        if (pacer != null) {
+            if (pause && !pacer.isPaused() && pacer.isAnimating()) pauses++;
+            pacer.setPaused(pause);
+            pacer.setFocused(focused);
+        }
+        if (menus != null) {
+            boolean hidden = gameVisible || minimized;
+            menus.setHidden(hidden);
+            menus.setAnimating(!hidden && focused);
+        }
+    }
+
+    /** Game frames that finished while the game wasn't visible. */
+    long getHiddenGameFrames() {
+        return pacer != null ? pacer.getHiddenFrames() : 0;
+    }
+
+    /** Menu backdrop paints while no menu was visible. */
+    long getHiddenMenuPaints() {
+        return menus != null ? menus.getHiddenPaints() : 0;
+    }
+
+    synchronized long getPauses() {
+        return pauses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Render lifecycle: game paused " + pauses + " times, " + getHiddenGameFrames()
+                + " game frames and " + getHiddenMenuPaints() + " menu paints while hidden";
+    }
+}
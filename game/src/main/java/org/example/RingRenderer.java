@@ -0,0 +1,44 @@
+package org.example;
+
+import com.jogamp.opengl.GL2;
+import org.example.engine.Ring;
+
+/**
+ * Draws a {@link Ring} as four colored quarter arcs from a cached vertex buffer.
+ */
+public class RingRenderer {
+    private static final float[][] COLORS = {
+            {0.0f, 1.0f, 1.0f}, // Cyan
+            {1.0f, 1.0f, 0.0f}, // Yellow
+            {1.0f, 0.0f, 1.0f}, // Magenta
+            {0.5f, 0.0f, 1.0f}  // Purple
+    };
+
+    private final GeometryCache geometry;
+
+    public RingRenderer() {
+        this(new GeometryCache());
+    }
+
+    public RingRenderer(GeometryCache geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * @param cameraY world-space Y at the viewport center
+     * @param alpha interpolation factor between the previous and current tick
+     */
+    public void draw(GL2 gl, Ring ring, double cameraY, float alpha) {
+        gl.glPushMatrix();
+        gl.glTranslatef(0, (float) (ring.getY() - cameraY), 0);
+        gl.glRotatef(ring.getInterpolatedAngle(alpha), 0, 0, 1);
+
+        GeometryCache.Mesh mesh = geometry.bindRing(gl, ring.getInnerRadius(), ring.getOuterRadius());
+        for (int i = 0; i < 4; i++) {
+            gl.glColor3fv(COLORS[i], 0);
+            geometry.drawArc(gl, mesh, i);
+        }
+
+        gl.glPopMatrix();
+    }
+}
@@ -0,0 +1,233 @@
+package org.example;
+
+import com.jogamp.opengl.GLAutoDrawable;
+import com.jogamp.opengl.awt.GLJPanel;
+import org.example.engine.CpuPlayer;
+import org.example.engine.jfr.GameRecording;
+import org.example.engine.telemetry.TelemetryWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Reads the optional launch settings shared by {@link Main} and {@link StartGame}:
+ * <ul>
+ *   <li>{@code -Dcolorpulse.seed=N} play a reproducible, seeded session</li>
+ *   <li>{@code -Dcolorpulse.recordDir=DIR} record each session's key presses to
+ *       {@code DIR/session-<seed>-<time>.cpir} for {@code ReplayRunner}</li>
+ *   <li>{@code -Dcolorpulse.cpu=easy|normal|hard} strength of the VS CPU opponent</li>
+ *   <li>{@code -Dcolorpulse.stars=N} number of background stars (GPU starfield)</li>
+ *   <li>{@code -Dcolorpulse.fps=vsync|uncapped|monitor|N} frame pacing: vsync (default),
+ *       as fast as possible, the monitor's refresh rate without vsync, or a fixed rate</li>
+ *   <li>{@code -Dcolorpulse.powerSave=false} keep full frame rate while unfocused</li>
+ *   <li>{@code -Dcolorpulse.capture=DIR} save every rendered frame as PNG in DIR,
+ *       or as raw YUV video when the path ends in {@code .y4m}</li>
+ *   <li>{@code -Dcolorpulse.frameStats=FILE} on exit, write per-phase frame and tick
+ *       time percentiles as CSV to FILE, or to the console for {@code -}</li>
+ *   <li>{@code -Dcolorpulse.jfr=FILE} record a Flight Recorder file with the game's
+ *       events (spawns, scores, game overs, ticks, frames) next to GC and JIT activity;
+ *       {@code -Dcolorpulse.jfrSettings=profile} for more detail</li>
+ *   <li>{@code -Dcolorpulse.latencyProbe=N} play singleplayer with N synthetic jumps, report
+ *       the key-to-screen latency and exit; {@code -Dcolorpulse.latencyReport=FILE} also
+ *       appends the report as CSV</li>
+ *   <li>{@code -Dcolorpulse.telemetry=DIR} write every world's state after every tick to
+ *       rolling files in DIR ({@code TelemetryCsv} expands them);
+ *       {@code -Dcolorpulse.telemetryRollMB=N} file size (default 64),
+ *       {@code -Dcolorpulse.telemetryGzip=true} compress them</li>
+ * </ul>
+ */
+final class SessionOptions {
+    static final String SEED_PROPERTY = "colorpulse.seed";
+    static final String RECORD_DIR_PROPERTY = "colorpulse.recordDir";
+    static final String CPU_PROPERTY = "colorpulse.cpu";
+    static final String STARS_PROPERTY = "colorpulse.stars";
+    static final String CAPTURE_PROPERTY = "colorpulse.capture";
+    static final String FPS_PROPERTY = "colorpulse.fps";
+    static final String POWER_SAVE_PROPERTY = "colorpulse.powerSave";
+    static final String FRAME_STATS_PROPERTY = "colorpulse.frameStats";
+    static final String JFR_PROPERTY = "colorpulse.jfr";
+    static final String JFR_SETTINGS_PROPERTY = "colorpulse.jfrSettings";
+    static final String LATENCY_PROBE_PROPERTY = "colorpulse.latencyProbe";
+    static final String LATENCY_REPORT_PROPERTY = "colorpulse.latencyReport";
+    static final String TELEMETRY_PROPERTY = "colorpulse.telemetry";
+    static final String TELEMETRY_ROLL_PROPERTY = "colorpulse.telemetryRollMB";
+    static final String TELEMETRY_GZIP_PROPERTY = "colorpulse.telemetryGzip";
+
+    // Game the exit hook finishes (recording trailer, telemetry, frame stats): the one created last
+    private static volatile Game exitGame;
+    private static boolean exitHookAdded; // guarded by SessionOptions.class
+
+    private SessionOptions() {}
+
+    static CpuPlayer.Difficulty cpuDifficulty() {
+        String value = System.getProperty(CPU_PROPERTY, "normal");
+        try {
+            return CpuPlayer.Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + CPU_PROPERTY + " '" + value + "', expected easy, normal or hard", e);
+        }
+    }
+
+    /**
+     * Creates the frame pacer for a game drawable; not started yet.
+     */
+    static FramePacer createPacer(GLAutoDrawable drawable) {
+        String value = System.getProperty(FPS_PROPERTY, "vsync").toLowerCase(Locale.ROOT);
+        FramePacer pacer;
+        switch (value) {
+            case "vsync":
+                // GLJPanel renders offscreen and its swap never waits for vblank, so
+                // vsync mode alone wouldn't pace it; hold it to the monitor rate instead
+                pacer = drawable instanceof GLJPanel
+                        ? new FramePacer(drawable, FramePacer.Mode.TARGET, FramePacer.monitorRefreshRate())
+                        : new FramePacer(drawable, FramePacer.Mode.VSYNC, 0);
+                break;
+            case "uncapped": pacer = new FramePacer(drawable, FramePacer.Mode.UNCAPPED, 0); break;
+            case "monitor": pacer = new FramePacer(drawable, FramePacer.Mode.TARGET, FramePacer.monitorRefreshRate()); break;
+            default:
+                try {
+                    pacer = new FramePacer(drawable, FramePacer.Mode.TARGET, Integer.parseInt(value));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown " + FPS_PROPERTY + " '" + value
+                            + "', expected vsync, uncapped, monitor or a frame rate", e);
+                }
+        }
+        pacer.setPowerSave(Boolean.parseBoolean(System.getProperty(POWER_SAVE_PROPERTY, "true")));
+        return pacer;
+    }
+
+    /**
+     * Adds a {@link FrameRecorder} to the drawable if capture was requested.
+     * It must stay behind the game in the listener list.
+     */
+    static void attachCapture(GLAutoDrawable drawable, int fps) {
+        String target = System.getProperty(CAPTURE_PROPERTY);
+        if (target == null) return;
+        try {
+            FrameEncoder encoder = target.endsWith(".y4m")
+                    ? FrameEncoder.yuv(Paths.get(target), fps)
+                    : FrameEncoder.png(Paths.get(target));
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            FrameRecorder recorder = new FrameRecorder(encoder, threads, threads * 2 + 2);
+            drawable.addGLEventListener(recorder);
+            // The menus exit via System.exit, which skips dispose(); still close the output
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::finish));
+            System.out.println("Capturing frames to " + target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create capture output " + target, e);
+        }
+    }
+
+    /**
+     * Starts a Flight Recorder recording with the game events if requested.
+     * Call once, before the first game; the file is written on exit.
+     */
+    static void startFlightRecording() {
+        String target = System.getProperty(JFR_PROPERTY);
+        if (target == null) return;
+        try {
+            GameRecording.start(Paths.get(target), System.getProperty(JFR_SETTINGS_PROPERTY, "default"));
+            System.out.println("Flight recording to " + target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start flight recording " + target, e);
+        }
+    }
+
+    /**
+     * Creates a latency probe if one was requested; not started yet.
+     *
+     * @param backend names the drawable in the report
+     * @param injectKey posts a synthetic SPACE press to the window's key listener
+     */
+    static LatencyProbe createLatencyProbe(String backend, FramePacer pacer, Runnable injectKey) {
+        Integer samples = Integer.getInteger(LATENCY_PROBE_PROPERTY);
+        if (samples == null) return null;
+        if (samples <= 0) {
+            throw new IllegalArgumentException(LATENCY_PROBE_PROPERTY + " must be positive: " + samples);
+        }
+        String report = System.getProperty(LATENCY_REPORT_PROPERTY);
+        System.out.println("Measuring input latency over " + samples + " jumps");
+        return new LatencyProbe(backend, pacer, injectKey, samples, report != null ? Paths.get(report) : null);
+    }
+
+    /**
+     * Hooks a game up to a probe, restarting the round whenever it ends so
+     * the measurement keeps going unattended.
+     */
+    static void attachLatencyProbe(Game game, LatencyProbe probe) {
+        game.setLatencyProbe(probe);
+        game.setGameStateListener(game::resetGamePublic);
+    }
+
+    static Game createGame(boolean multiplayer) {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        Game game = seed != null ? new Game(multiplayer, seed) : new Game(multiplayer);
+        game.setStarCount(Integer.getInteger(STARS_PROPERTY, GpuStarfield.DEFAULT_STAR_COUNT));
+
+        String recordDir = System.getProperty(RECORD_DIR_PROPERTY);
+        if (recordDir != null) {
+            try {
+                Path dir = Files.createDirectories(Paths.get(recordDir));
+                Path file = dir.resolve("session-" + game.getSeed() + "-" + System.currentTimeMillis() + ".cpir");
+                game.startRecording(file);
+                System.out.println("Recording input to " + file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create recording directory " + recordDir, e);
+            }
+        }
+
+        String telemetryDir = System.getProperty(TELEMETRY_PROPERTY);
+        if (telemetryDir != null) {
+            try {
+                long rollBytes = Integer.getInteger(TELEMETRY_ROLL_PROPERTY, 64) * (1L << 20);
+                game.startTelemetry(new TelemetryWriter(Paths.get(telemetryDir),
+                        "telemetry-" + game.getSeed() + "-" + System.currentTimeMillis(), rollBytes,
+                        Boolean.getBoolean(TELEMETRY_GZIP_PROPERTY)));
+                System.out.println("Writing telemetry to " + telemetryDir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create telemetry directory " + telemetryDir, e);
+            }
+        }
+
+        exitGame = game;
+        addExitHook();
+        return game;
+    }
+
+    /**
+     * Finishes the current game at exit: the menus leave via System.exit,
+     * which skips dispose(). One hook for the whole run, so games replaced
+     * by a restart aren't kept reachable by hooks of their own and don't
+     * race to write the same file.
+     */
+    private static synchronized void addExitHook() {
+        if (exitHookAdded) return;
+        exitHookAdded = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            Game game = exitGame;
+            if (game == null) return;
+            game.stopRecording(); // still write the trailer
+            game.stopTelemetry();
+            String frameStats = System.getProperty(FRAME_STATS_PROPERTY);
+            if (frameStats != null) dumpFrameStats(game, frameStats);
+        }));
+    }
+
+    private static void dumpFrameStats(Game game, String target) {
+        if (target.equals("-")) {
+            game.dumpFrameStats(System.out);
+            return;
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Paths.get(target)), false, "UTF-8")) {
+            game.dumpFrameStats(out);
+            System.out.println("Frame stats written to " + target);
+        } catch (IOException e) {
+            System.err.println("Cannot write frame stats to " + target + ": " + e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,7 @@ package org.example;
 import com.jogamp.opengl.GLCapabilities;
 import com.jogamp.opengl.GLProfile;
 import com.jogamp.opengl.awt.GLJPanel;
-import com.jogamp.opengl.util.FPSAnimator;
+import org.example.engine.CpuPlayer;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,13 +14,17 @@ public class StartGame {
     private static JFrame mainFrame;
     private static CardLayout cardLayout;
     private static JPanel cardPanel;
-    private static FPSAnimator animator;
+    private static FramePacer animator;
+    private static RenderLifecycle lifecycle;
+    private static JPanel gameScreen;
     private static GLJPanel glPanel;
     private static Game gameInstance;
     private static EndGame endGameScreen;
     private static HowToPlay howToPlayScreen;
+    private static LatencyProbe latencyProbe;
 
     public static void main(String[] args) {
+        SessionOptions.startFlightRecording();
         SwingUtilities.invokeLater(StartGame::initializeMainFrame);
     }
 
@@ -37,11 +41,25 @@ public class StartGame {
 
         // Screens
         cardPanel.add(createStartScreen(), "START");
-        cardPanel.add(createGameScreen(), "GAME");
+        gameScreen = createGameScreen();
+        cardPanel.add(gameScreen, "GAME");
 
         mainFrame.add(cardPanel);
         mainFrame.setVisible(true);
 
+        // Only render what can be seen: the game while its card shows, the menus otherwise,
+        // neither while minimized, and slower while another window has focus
+        lifecycle = new RenderLifecycle(animator, MenuBackdrop.SHARED);
+        lifecycle.watch(mainFrame, gameScreen);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(lifecycle)));
+
+        // Latency measurement: straight into a singleplayer game, jumped by the probe
+        latencyProbe = SessionOptions.createLatencyProbe("GLJPanel", animator, StartGame::injectSpace);
+        if (latencyProbe != null) {
+            launchGame(false);
+            latencyProbe.start();
+        }
+
         // Create HowToPlay (uses callbacks)
         howToPlayScreen = new HowToPlay(cardLayout, cardPanel, () -> launchGame(false));
         cardPanel.add(howToPlayScreen.getPanel(), "HOW_TO_PLAY");
@@ -49,16 +67,10 @@ public class StartGame {
         // EndGame will be created dynamically when launching game (so it shows correct score)
         // Show start screen first
         cardLayout.show(cardPanel, "START");
-
-        // Background animation timer for nice UI effects
-        javax.swing.Timer animationTimer = new javax.swing.Timer(50, e -> {
-            cardPanel.repaint();
-        });
-        animationTimer.start();
     }
 
     private static JPanel createStartScreen() {
-        JPanel panel = new BackgroundPanel();
+        JPanel panel = new MenuBackgroundPanel();
         panel.setLayout(new BorderLayout(0, 0));
 
         JPanel mainContainer = new JPanel();
@@ -91,7 +103,7 @@ public class StartGame {
         buttonPanel.setOpaque(false);
         buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.Y_AXIS));
         buttonPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        buttonPanel.setMaximumSize(new Dimension(250, 300));
+        buttonPanel.setMaximumSize(new Dimension(250, 370));
 
         // SINGLEPLAYER
         JButton playButton = createEnhancedButton("PLAY (Singleplayer)", new Color(0x00FF00), Color.BLACK, 20);
@@ -105,6 +117,12 @@ public class StartGame {
         multiButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         multiButton.addActionListener(e -> launchGame(true));
 
+        // VS CPU
+        JButton cpuButton = createEnhancedButton("VS CPU (Split)", new Color(0xFFAA00), Color.BLACK, 16);
+        cpuButton.setMaximumSize(new Dimension(250, 50));
+        cpuButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        cpuButton.addActionListener(e -> launchGame(true, true));
+
         // HOW TO PLAY
         JButton howToPlayButton = createEnhancedButton("HOW TO PLAY", new Color(0x00CCFF), Color.BLACK, 16);
         howToPlayButton.setMaximumSize(new Dimension(250, 50));
@@ -121,6 +139,8 @@ public class StartGame {
         buttonPanel.add(Box.createVerticalStrut(20));
         buttonPanel.add(multiButton);
         buttonPanel.add(Box.createVerticalStrut(20));
+        buttonPanel.add(cpuButton);
+        buttonPanel.add(Box.createVerticalStrut(20));
         buttonPanel.add(howToPlayButton);
         buttonPanel.add(Box.createVerticalStrut(20));
         buttonPanel.add(exitButton);
@@ -174,12 +194,22 @@ public class StartGame {
         });
 
         // Animator created here, but started/stopped in launchGame
-        animator = new FPSAnimator(glPanel, 60);
+        animator = SessionOptions.createPacer(glPanel);
+        SessionOptions.attachCapture(glPanel, 60);
 
         panel.add(glPanel, BorderLayout.CENTER);
         return panel;
     }
 
+    /**
+     * Sends a SPACE press through the event queue to the game panel's key
+     * listener, as a real key would arrive.
+     */
+    private static void injectSpace() {
+        EventQueue.invokeLater(() -> glPanel.dispatchEvent(new KeyEvent(glPanel, KeyEvent.KEY_PRESSED,
+                System.currentTimeMillis(), 0, KeyEvent.VK_SPACE, ' ')));
+    }
+
     private static JButton createEnhancedButton(String text, Color bgColor, Color fgColor, int fontSize) {
         JButton button = new JButton(text);
         button.setFont(new Font("Arial", Font.BOLD, fontSize));
@@ -223,78 +253,52 @@ public class StartGame {
      * Launches the game. If multiplayer == true -> split-screen.
      */
     private static void launchGame(boolean multiplayer) {
-        // Remove any previous listeners from glPanel
+        launchGame(multiplayer, false);
+    }
+
+    /**
+     * Launches the game; with vsCpu the computer plays the right-hand side.
+     */
+    private static void launchGame(boolean multiplayer, boolean vsCpu) {
+        // Dispose the previous game: stops its simulation, recording and telemetry
         if (gameInstance != null) {
-            glPanel.removeGLEventListener(gameInstance);
+            glPanel.disposeGLEventListener(gameInstance, true);
         }
 
         // Create new game instance with requested mode
-        gameInstance = new Game(multiplayer);
+        Game game = SessionOptions.createGame(multiplayer);
+        gameInstance = game;
+        if (vsCpu) {
+            game.setCpuOpponent(new CpuPlayer(SessionOptions.cpuDifficulty()));
+        }
 
         // Setup singleplayer end-game callback to show END_GAME card
-        gameInstance.setGameStateListener(() -> {
-            // create EndGame screen with current game instance and show it
+        game.setGameStateListener(() -> {
+            // create EndGame screen with this game instance and show it
             SwingUtilities.invokeLater(() -> {
+                if (game != gameInstance) return; // replaced before this ran
                 // If an EndGame exists, remove previous card (so we can create a fresh one)
                 if (endGameScreen != null) {
                     cardPanel.remove(endGameScreen.getPanel());
                 }
-                endGameScreen = new EndGame(cardLayout, cardPanel, gameInstance);
+                endGameScreen = new EndGame(cardLayout, cardPanel, game);
                 cardPanel.add(endGameScreen.getPanel(), "END_GAME");
                 cardLayout.show(cardPanel, "END_GAME");
             });
         });
 
-        // Add as GLEventListener and start animator
-        glPanel.addGLEventListener(gameInstance);
+        if (latencyProbe != null) {
+            SessionOptions.attachLatencyProbe(game, latencyProbe);
+        }
+        // Paused until the game card shows, and whenever it's hidden or minimized
+        lifecycle.setGame(game);
+
+        // Add as GLEventListener (first, so a frame recorder sees the finished frame) and start animator
+        glPanel.addGLEventListener(0, game);
         if (!animator.isAnimating()) animator.start();
 
         // Show game card and focus
         cardLayout.show(cardPanel, "GAME");
         glPanel.requestFocusInWindow();
     }
-
-    /**
-     * Custom panel that renders the starfield background with gradient for menus.
-     */
-    private static class BackgroundPanel extends JPanel {
-        private long startTime = System.currentTimeMillis();
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            java.awt.GradientPaint gradient = new java.awt.GradientPaint(
-                    0, 0, new Color(0x0A0A1A),
-                    0, getHeight(), new Color(0x1E1E2E)
-            );
-            g2d.setPaint(gradient);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
-
-            java.util.Random random = new java.util.Random(42);
-            int starCount = 200;
-            long elapsed = System.currentTimeMillis() - startTime;
-
-            for (int i = 0; i < starCount; i++) {
-                int x = random.nextInt(getWidth());
-                int y = random.nextInt(getHeight());
-
-                float twinkle = (float) Math.sin((elapsed + i * 100) / 500.0f);
-                float brightness = 0.3f + (0.7f * (twinkle + 1) / 2);
-                brightness = Math.min(1.0f, brightness);
-
-                int size = brightness > 0.7f ? 3 : 2;
-                g2d.setColor(new Color(brightness, brightness, brightness * 0.9f));
-                g2d.fillOval(x, y, size, size);
-            }
-
-            g2d.setColor(new Color(0, 100, 200, 10));
-            for (int i = 0; i < 3; i++) {
-                g2d.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
-            }
-        }
-    }
 }
@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * Picks how many segments a circle needs from its size on screen: enough
+ * that no chord strays more than {@value #MAX_ERROR_PIXELS} pixels from the
+ * true curve. Counts are rounded up to a power of two so cached meshes fall
+ * into a few buckets instead of one per pixel size.
+ */
+final class Tessellation {
+    static final float MAX_ERROR_PIXELS = 0.25f;
+
+    private Tessellation() {}
+
+    /**
+     * @param radiusPixels projected radius on screen
+     * @param min fewest segments to use, however small the circle
+     * @param max most segments to use, however large the circle
+     * @return segments for a full circle, a power of two in [min, max] when those are
+     */
+    static int circleSegments(float radiusPixels, int min, int max) {
+        int exact;
+        if (radiusPixels <= MAX_ERROR_PIXELS) {
+            exact = min;
+        } else {
+            // A chord spanning angle t strays r * (1 - cos(t / 2)) from the arc
+            double step = 2 * Math.acos(1 - MAX_ERROR_PIXELS / radiusPixels);
+            exact = (int) Math.ceil(2 * Math.PI / step);
+        }
+        int segments = Integer.highestOneBit(Math.max(exact, 1) - 1) << 1;
+        return Math.max(min, Math.min(max, Math.max(segments, 1)));
+    }
+}